@@ -0,0 +1,54 @@
+package sda.academy.restdemo.benchmark;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import sda.academy.restdemo.RestDemoApplication;
+import sda.academy.restdemo.model.Category;
+import sda.academy.restdemo.repository.CategoryRepository;
+import sda.academy.restdemo.service.ProductImportService;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+// Porneste aplicatia pe un H2 in memorie si populeaza catalogul pentru benchmark-uri.
+final class CatalogFixture {
+    static final int CATEGORIES = 20;
+
+    private CatalogFixture() {
+    }
+
+    static ConfigurableApplicationContext start(String databaseName) {
+        return new SpringApplicationBuilder(RestDemoApplication.class)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "spring.main.banner-mode=off",
+                        "server.port=0",
+                        "logging.level.root=WARN")
+                .run();
+    }
+
+    // returneaza id-urile categoriilor create; produsele sunt repartizate uniform intre ele
+    static List<Integer> seed(ConfigurableApplicationContext context, int products) throws IOException {
+        CategoryRepository categoryRepository = context.getBean(CategoryRepository.class);
+        List<Integer> categoryIds = new ArrayList<>();
+        for (int c = 0; c < CATEGORIES; c++) {
+            Category category = new Category();
+            category.setName("category-" + c);
+            categoryIds.add(categoryRepository.save(category).getId());
+        }
+
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < products; i++) {
+            ndjson.append("{\"name\":\"product-").append(i)
+                    .append("\",\"price\":").append(1 + (i % 1000))
+                    .append(",\"category\":{\"id\":").append(categoryIds.get(i % CATEGORIES)).append("}}\n");
+        }
+        context.getBean(ProductImportService.class)
+                .importProducts(new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)));
+        return categoryIds;
+    }
+}
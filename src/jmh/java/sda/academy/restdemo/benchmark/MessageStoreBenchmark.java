@@ -0,0 +1,80 @@
+package sda.academy.restdemo.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sda.academy.restdemo.model.Message;
+import sda.academy.restdemo.service.MessageStore;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Operatiile din MessageController rulate in paralel pe acelasi store (8 thread-uri in grupul "contended").
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessageStoreBenchmark {
+    private static final int KEY_SPACE = 10_000;
+
+    MessageStore store;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        store = new MessageStore(KEY_SPACE, 3600);
+        for (int id = 1; id <= KEY_SPACE / 2; id++) {
+            store.addMessage(message(id));
+        }
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(4)
+    public Message read() {
+        return store.findById(randomId());
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(2)
+    public boolean add() {
+        return store.addMessage(message(randomId()));
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(1)
+    public Message update() {
+        return store.updateMessage(randomId(), message(0));
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(1)
+    public Message delete() {
+        return store.deleteMessage(randomId());
+    }
+
+    private static int randomId() {
+        return 1 + ThreadLocalRandom.current().nextInt(KEY_SPACE);
+    }
+
+    private static Message message(int id) {
+        Message message = new Message();
+        message.setId(id);
+        message.setContentOfMessage("benchmark");
+        return message;
+    }
+}
@@ -0,0 +1,97 @@
+package sda.academy.restdemo.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import sda.academy.restdemo.dto.BulkImportResult;
+import sda.academy.restdemo.model.Category;
+import sda.academy.restdemo.model.Product;
+import sda.academy.restdemo.repository.CategoryRepository;
+import sda.academy.restdemo.repository.ProductRepository;
+import sda.academy.restdemo.service.ProductImportService;
+import sda.academy.restdemo.service.ProductService;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+// Importul bulk (NDJSON, insert-uri in batch) fata de calea veche: cate un createProduct per produs.
+// O operatie = "rows" produse; tabela e golita dupa fiecare iteratie ca sa nu creasca intre masuratori.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductImportBenchmark {
+
+    @Param({"3000"})
+    int rows;
+
+    ConfigurableApplicationContext context;
+    ProductImportService productImportService;
+    ProductService productService;
+    ProductRepository productRepository;
+    int categoryId;
+    byte[] ndjson;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = CatalogFixture.start("import-bench");
+        productImportService = context.getBean(ProductImportService.class);
+        productService = context.getBean(ProductService.class);
+        productRepository = context.getBean(ProductRepository.class);
+        Category category = new Category();
+        category.setName("bulk");
+        categoryId = context.getBean(CategoryRepository.class).save(category).getId();
+
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < rows; i++) {
+            body.append("{\"name\":\"bulk-").append(i).append("\",\"price\":").append(10 + i)
+                    .append(",\"category\":{\"id\":").append(categoryId).append("}}\n");
+        }
+        ndjson = body.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearProducts() {
+        productRepository.deleteAllInBatch();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BulkImportResult bulkImport() throws IOException {
+        return productImportService.importProducts(new ByteArrayInputStream(ndjson));
+    }
+
+    @Benchmark
+    public int singleInserts() {
+        int last = 0;
+        for (int i = 0; i < rows; i++) {
+            Product product = new Product();
+            product.setName("single-" + i);
+            product.setPrice(10 + i);
+            Category category = new Category();
+            category.setId(categoryId);
+            product.setCategory(category);
+            last = productService.createProduct(product).getId();
+        }
+        return last;
+    }
+}
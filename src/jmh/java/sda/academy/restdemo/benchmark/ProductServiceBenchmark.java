@@ -0,0 +1,95 @@
+package sda.academy.restdemo.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import sda.academy.restdemo.dto.ProductPage;
+import sda.academy.restdemo.model.Category;
+import sda.academy.restdemo.model.Product;
+import sda.academy.restdemo.repository.ProductRepository;
+import sda.academy.restdemo.service.ProductService;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductServiceBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    int tableSize;
+
+    ConfigurableApplicationContext context;
+    ProductService productService;
+    ProductRepository productRepository;
+    List<Integer> categoryIds;
+    int firstProductId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = CatalogFixture.start("product-bench-" + tableSize);
+        categoryIds = CatalogFixture.seed(context, tableSize);
+        productService = context.getBean(ProductService.class);
+        productRepository = context.getBean(ProductRepository.class);
+        firstProductId = productService.getProductsPage(null, 1, "id").getItems().get(0).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // calea din controller, inclusiv cache-ul de produse
+    @Benchmark
+    public Product getProductById() {
+        return productService.getProductById(randomProductId());
+    }
+
+    // aceeasi citire direct din baza de date, fara cache
+    @Benchmark
+    public Product findProductByIdUncached() {
+        return productRepository.findById(randomProductId()).orElseThrow();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Product> getAllProducts() {
+        return productService.getAllProducts();
+    }
+
+    @Benchmark
+    public ProductPage getProductsPage() {
+        return productService.getProductsPage(null, 50, "price");
+    }
+
+    @Benchmark
+    public Product createProduct() {
+        Product product = new Product();
+        product.setName("bench");
+        product.setPrice(42);
+        Category category = new Category();
+        category.setId(categoryIds.get(ThreadLocalRandom.current().nextInt(categoryIds.size())));
+        product.setCategory(category);
+        return productService.createProduct(product);
+    }
+
+    private int randomProductId() {
+        return firstProductId + ThreadLocalRandom.current().nextInt(tableSize);
+    }
+}
@@ -0,0 +1,103 @@
+package sda.academy.restdemo.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import sda.academy.restdemo.config.BinaryFormatsConfig;
+import sda.academy.restdemo.model.Category;
+import sda.academy.restdemo.model.Product;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+// Serializarea listelor de produse, fara baza de date: JSON-ul de azi (cu categoria ca obiect), JSON + gzip
+// (ce trimite serverul cu server.compression) si formatele binare cu categoria redusa la categoryId.
+// ObjectMapper-ele sunt construite ca in aplicatie. Dimensiunea payload-ului pentru fiecare format e afisata la setup.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"50", "1000", "10000"})
+    int listSize;
+
+    ObjectMapper objectMapper;
+    ObjectMapper cborMapper;
+    ObjectMapper smileMapper;
+    List<Product> products;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        cborMapper = BinaryFormatsConfig.binaryMapper(Jackson2ObjectMapperBuilder.json(), new CBORFactory());
+        smileMapper = BinaryFormatsConfig.binaryMapper(Jackson2ObjectMapperBuilder.json(), new SmileFactory());
+        products = new ArrayList<>(listSize);
+        List<Category> categories = new ArrayList<>();
+        for (int c = 0; c < CatalogFixture.CATEGORIES; c++) {
+            Category category = new Category();
+            category.setId(c + 1);
+            category.setName("category-" + c);
+            categories.add(category);
+        }
+        for (int i = 0; i < listSize; i++) {
+            Product product = new Product();
+            product.setId(i + 1);
+            product.setName("product-" + i);
+            product.setPrice(1 + (i % 1000));
+            product.setCategory(categories.get(i % categories.size()));
+            products.add(product);
+        }
+
+        try {
+            System.out.printf("%n[listSize=%d] payload bytes: json=%d, json+gzip=%d, cbor=%d, smile=%d%n", listSize,
+                    serializeProductList().length, serializeProductListJsonGzip().length,
+                    serializeProductListCbor().length, serializeProductListSmile().length);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeProductList() throws IOException {
+        return objectMapper.writeValueAsBytes(products);
+    }
+
+    @Benchmark
+    public byte[] serializeProductListJsonGzip() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(gzip, products);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] serializeProductListCbor() throws IOException {
+        return cborMapper.writeValueAsBytes(products);
+    }
+
+    @Benchmark
+    public byte[] serializeProductListSmile() throws IOException {
+        return smileMapper.writeValueAsBytes(products);
+    }
+}
@@ -0,0 +1,172 @@
+package sda.academy.restdemo.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import sda.academy.restdemo.RestDemoApplication;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Time-to-first-request: de la lansarea unui JVM nou cu aplicatia pana la primul raspuns 200 de la
+// GET /api/products (dupa POST /api/auth/token). Fiecare masurare e un proces separat, deci o pornire la rece.
+// Variante:
+//   -p profile=prod                         profilul de pornire rapida
+//   -p aot=true                             contextul AOT (build cu -Pfast-startup inainte)
+//   -p jar=target/app/RESTThymeleaf-0.0.1-SNAPSHOT.jar -p jvmArgs=-XX:SharedArchiveFile=target/app/application.jsa
+//                                           jar-ul extras + arhiva CDS produse de -Pfast-startup
+// ex: ./mvnw -Pfast-startup,jmh package exec:exec -DskipTests -Djmh.args="StartupBenchmark -p profile=prod -p aot=true"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 10)
+@Fork(1)
+public class StartupBenchmark {
+    private static final Pattern ACCESS_TOKEN = Pattern.compile("\"accessToken\":\"([^\"]+)\"");
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    @Param({"default", "prod"})
+    String profile;
+
+    @Param({"false"})
+    boolean aot;
+
+    // gol = aplicatia de pe classpath-ul benchmark-ului; altfel java -jar <jar>
+    @Param({""})
+    String jar;
+
+    @Param({""})
+    String jvmArgs;
+
+    Path database;
+    HttpClient client;
+    Process process;
+    int port;
+
+    // migrarile Flyway ruleaza o singura data, aici; pornirile masurate gasesc schema la zi
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        database = Files.createTempDirectory("startup-bench").resolve("catalog");
+        client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        port = freePort();
+        Process schema = launch("default");
+        try {
+            awaitFirstRequest();
+        } finally {
+            stop(schema);
+        }
+    }
+
+    @Benchmark
+    public int timeToFirstRequest() throws Exception {
+        port = freePort();
+        process = launch(profile);
+        return awaitFirstRequest();
+    }
+
+    @TearDown(Level.Iteration)
+    public void stopApplication() throws Exception {
+        if (process != null) {
+            stop(process);
+            process = null;
+        }
+    }
+
+    private Process launch(String activeProfile) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        if (!jvmArgs.isBlank()) {
+            command.addAll(Arrays.asList(jvmArgs.trim().split("\\s+")));
+        }
+        command.add("-Dspring.aot.enabled=" + aot);
+        if (jar.isBlank()) {
+            command.addAll(List.of("-cp", System.getProperty("java.class.path"), RestDemoApplication.class.getName()));
+        } else {
+            command.addAll(List.of("-jar", jar));
+        }
+        command.addAll(List.of(
+                "--spring.profiles.active=" + activeProfile,
+                "--server.port=" + port,
+                "--spring.datasource.url=jdbc:h2:" + database.toAbsolutePath(),
+                "--spring.security.user.name=bench",
+                "--spring.security.user.password=bench",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN"));
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.appendTo(new File("target/startup-benchmark.log")))
+                .start();
+    }
+
+    // intoarce statusul primului raspuns reusit; conexiunile refuzate inseamna ca serverul nu a pornit inca
+    private int awaitFirstRequest() throws Exception {
+        String base = "http://localhost:" + port;
+        String basic = Base64.getEncoder().encodeToString("bench:bench".getBytes(StandardCharsets.UTF_8));
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                HttpResponse<String> token = client.send(HttpRequest.newBuilder(URI.create(base + "/api/auth/token"))
+                                .header("Authorization", "Basic " + basic)
+                                .POST(HttpRequest.BodyPublishers.noBody())
+                                .build(),
+                        HttpResponse.BodyHandlers.ofString());
+                Matcher matcher = ACCESS_TOKEN.matcher(token.body());
+                if (token.statusCode() == 200 && matcher.find()) {
+                    HttpResponse<Void> products = client.send(HttpRequest.newBuilder(URI.create(base + "/api/products?limit=1"))
+                                    .header("Authorization", "Bearer " + matcher.group(1))
+                                    .build(),
+                            HttpResponse.BodyHandlers.discarding());
+                    if (products.statusCode() == 200) {
+                        return products.statusCode();
+                    }
+                    throw new IllegalStateException("GET /api/products returned " + products.statusCode());
+                }
+            } catch (IOException notListeningYet) {
+                // portul nu e deschis inca
+            }
+            Thread.sleep(5);
+        }
+        throw new IllegalStateException("application did not serve a request within " + STARTUP_TIMEOUT
+                + ", see target/startup-benchmark.log");
+    }
+
+    private static void stop(Process process) throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -2,12 +2,17 @@ package sda.academy.restdemo;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 @SpringBootApplication
 public class RestDemoApplication {
+    // pasii de pornire (bean-uri, configurari, refresh) pentru /actuator/startup
+    private static final int STARTUP_STEPS_CAPACITY = 4096;
 
     public static void main(String[] args) {
-        SpringApplication.run(RestDemoApplication.class, args);
+        SpringApplication application = new SpringApplication(RestDemoApplication.class);
+        application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEPS_CAPACITY));
+        application.run(args);
     }
 
 }
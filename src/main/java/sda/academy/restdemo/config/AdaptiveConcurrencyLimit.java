@@ -0,0 +1,100 @@
+package sda.academy.restdemo.config;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+// Limita de concurenta care se adapteaza dupa latenta observata (in stilul TCP Vegas):
+// minRtt = latenta fara coada (minimul pe ultimele ~30s), iar limit * (1 - minRtt / rtt) estimeaza cate
+// request-uri asteapta in coada. Coada mica -> limita creste aditiv, coada mare -> scade aditiv,
+// iar un esec (5xx, exceptie) o taie multiplicativ (AIMD). Cat timp se folosesc mai putin de jumatate
+// din permise, latenta nu spune nimic despre limita si aceasta ramane neschimbata.
+public class AdaptiveConcurrencyLimit {
+    private static final long MIN_RTT_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(15);
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final LongSupplier nanoClock;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+
+    // minimul pe doua ferestre consecutive, ca o crestere reala a latentei de baza sa fie observata in timp
+    private long currentWindowMinRtt = Long.MAX_VALUE;
+    private long previousWindowMinRtt = Long.MAX_VALUE;
+    private long windowStart;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit) {
+        this(initialLimit, minLimit, maxLimit, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, LongSupplier nanoClock) {
+        if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("expected 1 <= min-limit <= initial-limit <= max-limit");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.nanoClock = nanoClock;
+        this.limit = initialLimit;
+        this.windowStart = nanoClock.getAsLong();
+    }
+
+    // false = limita e atinsa, request-ul trebuie respins imediat
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= getLimit()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    // inFlightAtStart = cate request-uri erau in lucru cand a fost admis acesta (inclusiv el)
+    public void release(long rttNanos, int inFlightAtStart, boolean failed) {
+        inFlight.decrementAndGet();
+        update(rttNanos, inFlightAtStart, failed);
+    }
+
+    // raspunsurile 4xx (401 fara token, 404) sunt de obicei mult mai rapide decat munca reala:
+    // permisul se elibereaza, dar latenta lor nu intra in minRtt, altfel restul ar parea pus in coada
+    public void releaseWithoutSample() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void update(long rttNanos, int inFlightAtStart, boolean failed) {
+        long now = nanoClock.getAsLong();
+        if (now - windowStart >= MIN_RTT_WINDOW_NANOS) {
+            previousWindowMinRtt = currentWindowMinRtt;
+            currentWindowMinRtt = Long.MAX_VALUE;
+            windowStart = now;
+        }
+        if (failed) {
+            limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+            return;
+        }
+        currentWindowMinRtt = Math.min(currentWindowMinRtt, rttNanos);
+        if (inFlightAtStart * 2 < limit) {
+            return;
+        }
+
+        long minRtt = Math.min(currentWindowMinRtt, previousWindowMinRtt);
+        double queue = limit * (1 - (double) minRtt / Math.max(rttNanos, 1));
+        double log = Math.max(1, Math.log10(limit));
+        if (queue < 3 * log) {
+            limit = Math.min(maxLimit, limit + log);
+        } else if (queue > 6 * log) {
+            limit = Math.max(minLimit, limit - log);
+        }
+    }
+}
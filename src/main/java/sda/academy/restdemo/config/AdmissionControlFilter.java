@@ -0,0 +1,176 @@
+package sda.academy.restdemo.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import sda.academy.restdemo.exception.ErrorResponse;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+import java.util.regex.Pattern;
+
+// Admitere pe /api/** inainte de Spring Security si de controllere: fiecare clasa de rute (liste, citiri
+// dupa id, scrieri) are limita ei adaptiva, ca un val de liste lente sa nu blocheze citirile rapide.
+// Peste limita raspunsul e imediat 503 + Retry-After, in loc sa astepte in coada Tomcat pana la timeout.
+// Metrici: catalog.admission.limit / in.flight (gauge) si catalog.admission.shed (counter), pe tag-ul route.
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 10)
+@ConditionalOnProperty(name = "catalog.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionControlFilter extends OncePerRequestFilter {
+    private static final Pattern POINT_READ_PATH = Pattern.compile("^/api/[^/]+/\\d+$");
+
+    enum RouteClass {
+        LIST, POINT_READ, WRITE;
+
+        static RouteClass of(HttpServletRequest request) {
+            String method = request.getMethod();
+            if (!"GET".equals(method) && !"HEAD".equals(method)) {
+                return WRITE;
+            }
+            return POINT_READ_PATH.matcher(request.getRequestURI().substring(request.getContextPath().length())).matches()
+                    ? POINT_READ : LIST;
+        }
+    }
+
+    private final Map<RouteClass, AdaptiveConcurrencyLimit> limits = new EnumMap<>(RouteClass.class);
+    private final Map<RouteClass, Counter> shed = new EnumMap<>(RouteClass.class);
+    private final List<String> excludedPaths;
+    private final long retryAfterSeconds;
+    private final ObjectMapper objectMapper;
+    private final LongSupplier nanoClock;
+
+    @Autowired
+    public AdmissionControlFilter(MeterRegistry meterRegistry, ObjectMapper objectMapper,
+                                  @Value("${catalog.admission.initial-limit:20}") int initialLimit,
+                                  @Value("${catalog.admission.min-limit:4}") int minLimit,
+                                  @Value("${catalog.admission.max-limit:200}") int maxLimit,
+                                  @Value("${catalog.admission.retry-after-seconds:1}") long retryAfterSeconds,
+                                  @Value("${catalog.admission.excluded-paths:}") List<String> excludedPaths) {
+        this(meterRegistry, objectMapper, initialLimit, minLimit, maxLimit, retryAfterSeconds, excludedPaths, System::nanoTime);
+    }
+
+    AdmissionControlFilter(MeterRegistry meterRegistry, ObjectMapper objectMapper, int initialLimit, int minLimit,
+                           int maxLimit, long retryAfterSeconds, List<String> excludedPaths, LongSupplier nanoClock) {
+        this.objectMapper = objectMapper;
+        this.nanoClock = nanoClock;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.excludedPaths = excludedPaths;
+        for (RouteClass route : RouteClass.values()) {
+            AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit, nanoClock);
+            limits.put(route, limit);
+            String tag = route.name().toLowerCase();
+            Gauge.builder("catalog.admission.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                    .description("Current adaptive concurrency limit")
+                    .tag("route", tag)
+                    .register(meterRegistry);
+            Gauge.builder("catalog.admission.in.flight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                    .description("Admitted requests still being processed")
+                    .tag("route", tag)
+                    .register(meterRegistry);
+            shed.put(route, Counter.builder("catalog.admission.shed")
+                    .description("Requests rejected with 503 because the concurrency limit was reached")
+                    .tag("route", tag)
+                    .register(meterRegistry));
+        }
+    }
+
+    // SSE si exportul tin conexiunea deschisa minute intregi: ar ocupa permise si ar strica estimarea latentei
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !path.startsWith("/api/") || excludedPaths.stream().anyMatch(path::startsWith);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RouteClass route = RouteClass.of(request);
+        AdaptiveConcurrencyLimit limit = limits.get(route);
+        if (!limit.tryAcquire()) {
+            shed.get(route).increment();
+            reject(response);
+            return;
+        }
+
+        int inFlightAtStart = limit.getInFlight();
+        long start = nanoClock.getAsLong();
+        AtomicBoolean released = new AtomicBoolean();
+        boolean threw = true;
+        try {
+            filterChain.doFilter(request, response);
+            threw = false;
+        } finally {
+            if (request.isAsyncStarted()) {
+                // raspunsul se termina pe alt thread (StreamingResponseBody, DeferredResult)
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        release(false);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                        release(true);
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                        release(true);
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+
+                    private void release(boolean asyncFailed) {
+                        if (released.compareAndSet(false, true)) {
+                            AdmissionControlFilter.release(limit, nanoClock.getAsLong() - start, inFlightAtStart,
+                                    asyncFailed, response.getStatus());
+                        }
+                    }
+                });
+            } else if (released.compareAndSet(false, true)) {
+                release(limit, nanoClock.getAsLong() - start, inFlightAtStart, threw, response.getStatus());
+            }
+        }
+    }
+
+    // doar 2xx/3xx sunt esantioane de latenta; 5xx (sau o exceptie) reduc limita; 4xx doar elibereaza permisul
+    private static void release(AdaptiveConcurrencyLimit limit, long rttNanos, int inFlightAtStart, boolean failed, int status) {
+        if (failed || status >= 500) {
+            limit.release(rttNanos, inFlightAtStart, true);
+        } else if (status >= 400) {
+            limit.releaseWithoutSample();
+        } else {
+            limit.release(rttNanos, inFlightAtStart, false);
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse("Server is busy, retry later"));
+    }
+}
@@ -0,0 +1,75 @@
+package sda.academy.restdemo.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import sda.academy.restdemo.model.Category;
+import sda.academy.restdemo.model.Product;
+
+import java.io.IOException;
+
+// Accept: application/cbor sau application/x-jackson-smile -> acelasi model, dar binar si mai compact:
+// categoria produsului e trimisa doar ca "categoryId" (in JSON ramane obiectul intreg, pentru compatibilitate).
+// Converterele inlocuiesc pe cele implicite din Spring MVC, care ar folosi un ObjectMapper fara configurarea Boot.
+@Configuration
+public class BinaryFormatsConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(binaryMapper(builder, new CBORFactory()));
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(binaryMapper(builder, new SmileFactory()));
+    }
+
+    // public ca benchmark-ul sa masoare exact mapper-ul folosit de aplicatie
+    public static ObjectMapper binaryMapper(Jackson2ObjectMapperBuilder builder, JsonFactory factory) {
+        return builder.factory(factory)
+                .mixIn(Product.class, ProductWithCategoryId.class)
+                .build();
+    }
+
+    abstract static class ProductWithCategoryId {
+        @JsonProperty("categoryId")
+        @JsonSerialize(using = CategoryIdSerializer.class)
+        abstract Category getCategory();
+
+        @JsonProperty("categoryId")
+        @JsonDeserialize(using = CategoryIdDeserializer.class)
+        abstract void setCategory(Category category);
+    }
+
+    static class CategoryIdSerializer extends JsonSerializer<Category> {
+        @Override
+        public void serialize(Category category, JsonGenerator generator, SerializerProvider serializers) throws IOException {
+            generator.writeNumber(category.getId());
+        }
+    }
+
+    // la POST/PUT binar clientul trimite tot categoryId; serviciul valideaza categoria dupa id
+    static class CategoryIdDeserializer extends JsonDeserializer<Category> {
+        @Override
+        public Category deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            Category category = new Category();
+            category.setId(parser.getValueAsInt());
+            return category;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package sda.academy.restdemo.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// cache-urile (nume, dimensiune, TTL) sunt configurate in application.properties (spring.cache.*)
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String VIEW_FRAGMENTS = "viewFragments";
+
+    // fragmentele HTML randate sunt mult mai mari decat o entitate, deci au limita lor (catalog.view-cache.spec)
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> viewFragmentsCache(@Value("${catalog.view-cache.spec}") String spec) {
+        return cacheManager -> cacheManager.registerCustomCache(VIEW_FRAGMENTS, Caffeine.from(spec).build());
+    }
+}
@@ -0,0 +1,69 @@
+package sda.academy.restdemo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// Activ doar cand catalog.datasource.replicas contine cel putin un URL JDBC; altfel ramane
+// DataSource-ul auto-configurat din spring.datasource.*. Replicile folosesc acelasi user/parola/driver ca primary.
+@Configuration
+@ConditionalOnExpression("!'${catalog.datasource.replicas:}'.isBlank()")
+public class ReadWriteDataSourceConfig {
+
+    // pool-ul pentru scrieri, configurat exact ca DataSource-ul implicit (spring.datasource.*, spring.datasource.hikari.*)
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("primary");
+        return primary;
+    }
+
+    @Bean
+    public ReplicaLagGuard replicaLagGuard(@Value("${catalog.datasource.read-your-writes-window:2s}") Duration window) {
+        return new ReplicaLagGuard(window);
+    }
+
+    // pool-urile replicilor sunt create aici si inchise odata cu bean-ul (close())
+    @Bean
+    public ReadWriteRoutingDataSource routingDataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource, DataSourceProperties properties,
+                                                        @Value("${catalog.datasource.replicas}") List<String> replicaUrls,
+                                                        @Value("${catalog.datasource.replica-pool-size:10}") int poolSize,
+                                                        ReplicaLagGuard replicaLagGuard) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String url : replicaUrls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + replicas.size());
+            replica.setJdbcUrl(url.trim());
+            replica.setUsername(properties.determineUsername());
+            replica.setPassword(properties.determinePassword());
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setMaximumPoolSize(poolSize);
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+        return new ReadWriteRoutingDataSource(primaryDataSource, replicas, replicaLagGuard);
+    }
+
+    // DataSource-ul folosit de JPA, Spring Data si JdbcTemplate
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
@@ -0,0 +1,102 @@
+package sda.academy.restdemo.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Tranzactiile @Transactional(readOnly = true) primesc conexiuni de la replici (round-robin),
+// restul (scrieri, cod fara tranzactie, Hibernate la pornire) de la primary.
+// Trebuie folosit in spatele unui LazyConnectionDataSourceProxy: JpaTransactionManager cere conexiunea
+// inainte sa marcheze tranzactia ca read-only, proxy-ul amana alegerea pana la primul statement.
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+    static final String PRIMARY = "primary";
+    private static final ThreadLocal<Boolean> FORCE_PRIMARY = new ThreadLocal<>();
+
+    private final List<? extends DataSource> replicas;
+    private final List<String> replicaKeys;
+    private final ReplicaLagGuard lagGuard;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReadWriteRoutingDataSource(DataSource primary, List<? extends DataSource> replicas, ReplicaLagGuard lagGuard) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        this.replicaKeys = new ArrayList<>();
+        for (int i = 0; i < replicas.size(); i++) {
+            String key = "replica-" + i;
+            targets.put(key, replicas.get(i));
+            replicaKeys.add(key);
+        }
+        this.replicas = replicas;
+        this.lagGuard = lagGuard;
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive() || FORCE_PRIMARY.get() != null) {
+            return PRIMARY;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            recordWriteAfterCommit();
+            return PRIMARY;
+        }
+        if (replicaKeys.isEmpty() || lagGuard.mustReadFromPrimary()) {
+            return PRIMARY;
+        }
+        return replicaKeys.get(Math.floorMod(next.getAndIncrement(), replicaKeys.size()));
+    }
+
+    // Citiri care umplu un cache partajat (@Cacheable): dupa un commit cache-ul e golit, iar o replica
+    // ramasa in urma l-ar umple la loc cu starea veche pana la expirare. Fara replici nu schimba nimic.
+    public static <T> T onPrimary(Supplier<T> read) {
+        if (FORCE_PRIMARY.get() != null) {
+            return read.get();
+        }
+        FORCE_PRIMARY.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+            FORCE_PRIMARY.remove();
+        }
+    }
+
+    // primary e un bean separat si se inchide singur; replicile apartin acestui DataSource
+    @Override
+    public void close() throws Exception {
+        for (DataSource replica : replicas) {
+            if (replica instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    // o singura inregistrare pe tranzactie, chiar daca cere mai multe conexiuni
+    private void recordWriteAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                lagGuard.recordWrite();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ReadWriteRoutingDataSource.this);
+            }
+        });
+    }
+}
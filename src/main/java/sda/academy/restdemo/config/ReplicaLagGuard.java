@@ -0,0 +1,43 @@
+package sda.academy.restdemo.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+
+// Read-your-writes: dupa un commit, citirile aceluiasi utilizator merg pe primary cat timp replicile
+// ar putea sa nu fi primit inca modificarea (catalog.datasource.read-your-writes-window).
+// Cheia e utilizatorul autentificat; job-urile si request-urile fara utilizator impart cheia "anonymous".
+public class ReplicaLagGuard {
+    private static final String ANONYMOUS = "anonymous";
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReplicaLagGuard(Duration window) {
+        this(window, Ticker.systemTicker());
+    }
+
+    ReplicaLagGuard(Duration window, Ticker ticker) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(100_000)
+                .ticker(ticker)
+                .build();
+    }
+
+    public void recordWrite() {
+        recentWriters.put(currentUser(), Boolean.TRUE);
+    }
+
+    public boolean mustReadFromPrimary() {
+        return recentWriters.getIfPresent(currentUser()) != null;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null || authentication.getName() == null ? ANONYMOUS : authentication.getName();
+    }
+}
@@ -0,0 +1,11 @@
+package sda.academy.restdemo.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// compactarea change log-ului si poll-ul pentru Server-Sent Events, fiecare pe thread-ul lui
+// (spring.task.scheduling.pool.size)
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
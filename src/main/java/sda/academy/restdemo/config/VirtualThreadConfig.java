@@ -0,0 +1,46 @@
+package sda.academy.restdemo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+// spring.threads.virtual.enabled=true muta request-urile Tomcat (si apelurile @Transactional din ele)
+// pe virtual threads. In modul asta pool-ul Hikari e pus in spatele unui semafor de aceeasi marime.
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    static BeanPostProcessor connectionAdmissionPostProcessor(
+            @Value("${catalog.jdbc.admission-timeout-ms:30000}") long admissionTimeoutMs) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari) {
+                    return new ConnectionAdmissionDataSource(hikari, hikari.getMaximumPoolSize(), admissionTimeoutMs);
+                }
+                return bean;
+            }
+        };
+    }
+
+    // cu replici (ReadWriteDataSourceConfig) semaforul e pe pool-ul primary, nu pe DataSource-ul @Primary
+    @Bean
+    MeterBinder connectionAdmissionMetrics(List<DataSource> dataSources) {
+        return registry -> dataSources.forEach(dataSource -> {
+            if (dataSource instanceof ConnectionAdmissionDataSource admission) {
+                Gauge.builder("catalog.jdbc.admission.waiting", admission, ConnectionAdmissionDataSource::getWaitingCount)
+                        .description("Threads waiting for a JDBC connection permit")
+                        .register(registry);
+            }
+        });
+    }
+}
@@ -0,0 +1,23 @@
+package sda.academy.restdemo.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import sda.academy.restdemo.dto.TokenResponse;
+import sda.academy.restdemo.security.TokenService;
+
+@RestController
+@RequestMapping("/api/auth")
+public class AuthController {
+    @Autowired
+    TokenService tokenService;
+
+    // POST /api/auth/token cu HTTP Basic (user/parola) -> JWT pentru celelalte endpoint-uri /api/**
+    @PostMapping("/token")
+    public ResponseEntity<TokenResponse> token(Authentication authentication) {
+        return ResponseEntity.ok(tokenService.issue(authentication));
+    }
+}
@@ -1,13 +1,18 @@
 package sda.academy.restdemo.controller;
 
+import sda.academy.restdemo.dto.CategorySummary;
 import sda.academy.restdemo.model.Category;
+import sda.academy.restdemo.service.CatalogVersion;
 import sda.academy.restdemo.service.CategoryService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/categories")
@@ -15,11 +20,29 @@ public class CategoryController {
     @Autowired
     CategoryService categoryService;
 
+    @Autowired
+    CatalogVersion catalogVersion;
+
+    // lista contine si produsele, deci ETag-ul e versiunea intregului catalog
     @GetMapping
-    public ResponseEntity<List<Category>> getAllCategories() {
-        List<Category> categories = categoryService.getAllCategories();
+    public ResponseEntity<List<Category>> getAllCategories(WebRequest webRequest) {
+        String etag = ETags.collection("categories", catalogVersion.current());
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        List<Category> categories = categoryService.getAllCategoriesWithProducts();
+
+        return ResponseEntity.ok().eTag(etag).body(categories);
+    }
 
-        return ResponseEntity.ok().body(categories);
+    // GET /api/categories/summary - id, nume si numarul de produse, fara sa incarce produsele
+    @GetMapping("/summary")
+    public ResponseEntity<List<CategorySummary>> getCategorySummaries(WebRequest webRequest) {
+        String etag = ETags.collection("categories-summary", catalogVersion.current());
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(categoryService.getCategorySummaries());
     }
 
 /*    @GetMapping("/getGategory")
@@ -28,8 +51,15 @@ public class CategoryController {
     }*/
 
     @GetMapping("/{id}")
-    public ResponseEntity<String> getCategoryById(@PathVariable Integer id) {
-        return ResponseEntity.ok().body(categoryService.getCategoryById(id).getName());
+    public ResponseEntity<String> getCategoryById(@PathVariable Integer id, WebRequest webRequest) {
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<Long> version = categoryService.getCategoryVersion(id);
+            if (version.isPresent() && webRequest.checkNotModified(ETags.category(version.get()))) {
+                return null;
+            }
+        }
+        Category category = categoryService.getCategoryById(id);
+        return ResponseEntity.ok().eTag(ETags.category(category.getVersion())).body(category.getName());
     }
 
     @PostMapping
@@ -0,0 +1,33 @@
+package sda.academy.restdemo.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import sda.academy.restdemo.model.CategoryRemovalJob;
+import sda.academy.restdemo.service.CategoryRemovalService;
+
+import java.net.URI;
+
+@RestController
+@RequestMapping("/api")
+public class CategoryRemovalJobController {
+    @Autowired
+    CategoryRemovalService categoryRemovalService;
+
+    // POST /api/categories/5/removal-jobs?targetCategoryId=7 - porneste stergerea in fundal (202),
+    // fara targetCategoryId produsele raman fara categorie
+    @PostMapping("/categories/{id}/removal-jobs")
+    public ResponseEntity<CategoryRemovalJob> startRemoval(@PathVariable Integer id,
+                                                           @RequestParam(required = false) Integer targetCategoryId) {
+        CategoryRemovalJob job = categoryRemovalService.start(id, targetCategoryId);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/category-removal-jobs/" + job.getId()))
+                .body(job);
+    }
+
+    // GET /api/category-removal-jobs/12 - status si progres (productsMoved / productsTotal)
+    @GetMapping("/category-removal-jobs/{jobId}")
+    public ResponseEntity<CategoryRemovalJob> getJob(@PathVariable long jobId) {
+        return ResponseEntity.ok(categoryRemovalService.getJob(jobId));
+    }
+}
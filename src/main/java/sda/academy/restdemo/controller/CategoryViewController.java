@@ -1,5 +1,7 @@
 package sda.academy.restdemo.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import sda.academy.restdemo.model.Category;
 import sda.academy.restdemo.service.CategoryService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,9 +16,16 @@ public class CategoryViewController {
     @Autowired
     CategoryService categoryService;
 
+    @Autowired
+    ViewFragments viewFragments;
+
     @GetMapping
-    public String listCategories(Model model){
-        model.addAttribute("categories",categoryService.getAllCategories());
+    public String listCategories(@RequestParam(defaultValue = "0") int page,
+                                 @RequestParam(defaultValue = "50") int size,
+                                 Model model, HttpServletRequest request, HttpServletResponse response){
+        model.addAttribute("page", viewFragments.render("fragments/category-rows", page, size,
+                categoryService::getCategorySummaryPage, request, response));
+        model.addAttribute("pageSizes", ViewFragments.PAGE_SIZES);
         return "categories";
     }
 
@@ -0,0 +1,45 @@
+package sda.academy.restdemo.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import sda.academy.restdemo.dto.ChangeFeed;
+import sda.academy.restdemo.service.ChangeFeedPublisher;
+import sda.academy.restdemo.service.ChangeLogService;
+
+import java.util.List;
+
+// Sincronizare incrementala: clientul incarca o data catalogul, retine head-ul si apoi cere doar modificarile.
+// 410 Gone = intrarile de dupa `since` au fost compactate, catalogul trebuie reincarcat.
+@RestController
+@RequestMapping("/api/changes")
+public class ChangeFeedController {
+    @Autowired
+    ChangeLogService changeLogService;
+
+    @Autowired
+    ChangeFeedPublisher changeFeedPublisher;
+
+    // GET /api/changes?since=120&limit=500
+    @GetMapping
+    public ResponseEntity<ChangeFeed> getChanges(@RequestParam long since,
+                                                 @RequestParam(defaultValue = "500") int limit) {
+        return ResponseEntity.ok(changeLogService.getChanges(since, limit));
+    }
+
+    // GET /api/changes/head - seq-ul de la care incepe sincronizarea (citit INAINTE de a incarca catalogul)
+    @GetMapping("/head")
+    public ResponseEntity<ChangeFeed> getHead() {
+        return ResponseEntity.ok(new ChangeFeed(List.of(), List.of(), List.of(), changeLogService.head(), false));
+    }
+
+    // GET /api/changes/stream?since=120 - Server-Sent Events; la reconectare browserul trimite Last-Event-ID
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestParam(required = false) Long since,
+                             @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        long from = lastEventId != null ? lastEventId : since != null ? since : changeLogService.head();
+        return changeFeedPublisher.subscribe(from);
+    }
+}
@@ -0,0 +1,54 @@
+package sda.academy.restdemo.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import sda.academy.restdemo.dto.ProductVersion;
+import sda.academy.restdemo.model.Product;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// ETag-uri tari, construite din coloanele @Version (ghilimelele le adauga Spring)
+final class ETags {
+    private static final Pattern PRODUCT_ETAG = Pattern.compile("^\"?p(\\d+)(?:-c[^\"]*)?\"?$");
+
+    private ETags() {
+    }
+
+    // JSON-ul produsului contine si categoria, deci ETag-ul depinde si de versiunea ei
+    static String product(ProductVersion version) {
+        return product(version.getVersion(), version.getCategoryId(), version.getCategoryVersion());
+    }
+
+    static String product(Product product) {
+        return product.getCategory() == null
+                ? product(product.getVersion(), null, null)
+                : product(product.getVersion(), product.getCategory().getId(), product.getCategory().getVersion());
+    }
+
+    // versiunea produsului din If-Match (null daca header-ul lipseste sau e "*");
+    // partea cu categoria e ignorata - modificarea categoriei nu intra in conflict cu un PATCH pe produs
+    static Long productVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        Matcher matcher = PRODUCT_ETAG.matcher(ifMatch.trim());
+        if (!matcher.matches()) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "If-Match is not a product ETag");
+        }
+        return Long.parseLong(matcher.group(1));
+    }
+
+    static String category(long version) {
+        return "c" + version;
+    }
+
+    // pentru colectii: numele resursei + versiunea catalogului (se schimba la orice scriere)
+    static String collection(String name, long catalogVersion) {
+        return name + "-" + catalogVersion;
+    }
+
+    private static String product(long version, Integer categoryId, Long categoryVersion) {
+        return categoryId == null ? "p" + version : "p" + version + "-c" + categoryId + "." + categoryVersion;
+    }
+}
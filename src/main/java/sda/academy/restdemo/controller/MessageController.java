@@ -1,32 +1,32 @@
 package sda.academy.restdemo.controller;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import sda.academy.restdemo.model.Message;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import sda.academy.restdemo.service.MessageStore;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 @RestController
 @RequestMapping("/api/messages")
 public class MessageController {
-    private final Map<Integer, Message> messages = new HashMap<>();
+    @Autowired
+    private MessageStore messageStore;
 
     @Value("${message.default}")
     private String defaultMessage;
 
     @GetMapping()
     public List<Message> getMessages(){
-        return new ArrayList<>(messages.values());
+        return messageStore.findAll();
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<?> getMessageById(@PathVariable int id){
-        Message message = messages.get(id);
+        Message message = messageStore.findById(id);
 
         if(message==null){
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Message with id: " + id + " not found");
@@ -35,14 +35,14 @@ public class MessageController {
         return ResponseEntity.ok(message);
     }
 
+    // fara id (sau id <= 0) in body, id-ul e generat de server
     @PostMapping()
     public ResponseEntity<?> addMessage(@RequestBody Message message){
-        if(!messages.containsKey(message.getId())){
-            if(message.getContentOfMessage() == null || message.getContentOfMessage().isEmpty()){
-                message.setContentOfMessage(defaultMessage);
-            }
+        if(message.getContentOfMessage() == null || message.getContentOfMessage().isEmpty()){
+            message.setContentOfMessage(defaultMessage);
+        }
 
-            this.messages.put(message.getId(), message);
+        if(messageStore.addMessage(message)){
             return ResponseEntity.status(HttpStatus.CREATED).body(message);
         }
 
@@ -51,21 +51,20 @@ public class MessageController {
 
     @PutMapping("/{id}")
     public ResponseEntity<?> updateMessage(@PathVariable int id, @RequestBody Message message){
-        if(!messages.containsKey(id)){
+        Message updated = messageStore.updateMessage(id, message);
+        if(updated == null){
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Message with id: " + id + " not found");
         }
 
-        this.messages.put(id, message);
-        return ResponseEntity.status(HttpStatus.OK).body(messages.get(id));
+        return ResponseEntity.status(HttpStatus.OK).body(updated);
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteMessage(@PathVariable int id){
-        if(!messages.containsKey(id)){
+        if(messageStore.deleteMessage(id) == null){
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Message with id: " + id + " not found");
         }
 
-        this.messages.remove(id);
-        return ResponseEntity.status(HttpStatus.OK).body("Message with id " + messages.get(id) + " has been deleted");
+        return ResponseEntity.status(HttpStatus.OK).body("Message with id " + id + " has been deleted");
     }
 }
@@ -1,6 +1,23 @@
 package sda.academy.restdemo.controller;
 
+import sda.academy.restdemo.dto.ProductPage;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import sda.academy.restdemo.dto.BulkDeleteRequest;
+import sda.academy.restdemo.dto.BulkDeleteResult;
+import sda.academy.restdemo.dto.BulkImportResult;
+import sda.academy.restdemo.dto.ProductFilterResult;
+import sda.academy.restdemo.dto.ProductPatch;
+import sda.academy.restdemo.dto.ProductVersion;
+import org.springframework.web.context.request.WebRequest;
+import sda.academy.restdemo.service.CatalogVersion;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import sda.academy.restdemo.model.Product;
+import sda.academy.restdemo.service.ExportFormat;
+import sda.academy.restdemo.service.ProductBulkDeleteService;
+import sda.academy.restdemo.service.ProductExportService;
+import sda.academy.restdemo.service.ProductImportService;
 import sda.academy.restdemo.service.ProductService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -8,7 +25,9 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/products")
@@ -16,16 +35,76 @@ public class ProductController {
     @Autowired
     ProductService productService;
 
+    @Autowired
+    ProductExportService productExportService;
+
+    @Autowired
+    ProductImportService productImportService;
+
+    @Autowired
+    ProductBulkDeleteService productBulkDeleteService;
+
+    @Autowired
+    CatalogVersion catalogVersion;
+
+    // GET /api/products?limit=50&sort=price&after=<nextCursor din pagina anterioara>
     @GetMapping
-    public List<Product> getAllProducts() {
-        return productService.getAllProducts();
+    public ResponseEntity<ProductPage> getAllProducts(@RequestParam(required = false) String after,
+                                                      @RequestParam(defaultValue = "50") int limit,
+                                                      @RequestParam(defaultValue = "id") String sort,
+                                                      WebRequest webRequest) {
+        String etag = ETags.collection("products", catalogVersion.current());
+        if (webRequest.checkNotModified(etag)) {
+            return null; // 304, fara interogari
+        }
+        return ResponseEntity.ok().eTag(etag).body(productService.getProductsPage(after, limit, sort));
+    }
+
+    // GET /api/products/export?format=ndjson|csv - tot catalogul, scris pe masura ce e citit din baza de date
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportProducts(@RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        StreamingResponseBody body = out -> productExportService.export(exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=products." + exportFormat.getExtension())
+                .body(body);
+    }
+
+    // GET /api/products/filter?categoryId=3&minPrice=10&maxPrice=50 - produsele + fatetele pentru sidebar
+    @GetMapping("/filter")
+    public ResponseEntity<ProductFilterResult> filterProducts(@RequestParam(required = false) Integer categoryId,
+                                                              @RequestParam(required = false) Double minPrice,
+                                                              @RequestParam(required = false) Double maxPrice,
+                                                              @RequestParam(required = false) String after,
+                                                              @RequestParam(defaultValue = "50") int limit,
+                                                              WebRequest webRequest) {
+        String etag = ETags.collection("products-filter", catalogVersion.current());
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag)
+                .body(productService.filterProducts(categoryId, minPrice, maxPrice, after, limit));
+    }
+
+    // GET /api/products/search?q=iph 15 - fiecare cuvant trebuie sa fie prefixul unui cuvant din nume
+    @GetMapping("/search")
+    public List<Product> searchProducts(@RequestParam String q, @RequestParam(defaultValue = "20") int limit) {
+        return productService.searchProducts(q, limit);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Product> getProductById(@PathVariable int id) {
+    public ResponseEntity<Product> getProductById(@PathVariable int id, WebRequest webRequest) {
+        // cu If-None-Match compar doar versiunile (un SELECT pe coloanele version), fara sa incarc produsul
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<ProductVersion> version = productService.getProductVersion(id);
+            if (version.isPresent() && webRequest.checkNotModified(ETags.product(version.get()))) {
+                return null; // 304, fara body
+            }
+        }
 
        Product product =  productService.getProductById(id);
-       return ResponseEntity.ok(product);
+       return ResponseEntity.ok().eTag(ETags.product(product)).body(product);
 
     }
 
@@ -36,12 +115,34 @@ public class ProductController {
         return ResponseEntity.status(HttpStatus.CREATED).body("Product added successfully");
     }
 
+    // POST /api/products/bulk - array JSON sau NDJSON; raspunsul contine erorile pe fiecare rand
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/x-ndjson"})
+    public ResponseEntity<BulkImportResult> importProducts(HttpServletRequest request) throws IOException {
+        BulkImportResult result = productImportService.importProducts(request.getInputStream());
+        return ResponseEntity.ok(result);
+    }
+
+    // POST /api/products/bulk-delete {"ids": [1, 2, 3]} sau {"categoryId": 4, "priceBelow": 10}
+    @PostMapping("/bulk-delete")
+    public ResponseEntity<BulkDeleteResult> deleteProducts(@RequestBody BulkDeleteRequest request) {
+        return ResponseEntity.ok(productBulkDeleteService.deleteProducts(request));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<String> updateProduct(@PathVariable Integer id, @RequestBody @Valid Product product) {
         productService.updateProduct(id, product);
         return ResponseEntity.status(HttpStatus.OK).body("Product updated successfully");
     }
 
+    // PATCH /api/products/{id} {"price": 12.5} - doar campurile trimise, intr-un singur UPDATE;
+    // cu "version" in body sau If-Match: <ETag> raspunde 409 daca produsul a fost modificat intre timp
+    @PatchMapping("/{id}")
+    public ResponseEntity<String> patchProduct(@PathVariable int id, @RequestBody @Valid ProductPatch patch,
+                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        productService.patchProduct(id, patch, ETags.productVersion(ifMatch));
+        return ResponseEntity.status(HttpStatus.OK).body("Product updated successfully");
+    }
+
 /*    @DeleteMapping("/{id}")
     public ResponseEntity<String> deleteProduct(@PathVariable Integer id) {
         if(productRepository.existsById(id)) {
@@ -1,5 +1,7 @@
 package sda.academy.restdemo.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PostMapping;
 import sda.academy.restdemo.model.Product;
@@ -10,6 +12,7 @@ import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
 @Controller
 @RequestMapping("/view/products")
@@ -19,17 +22,24 @@ public class ProductViewController {
     ProductService productService;
     @Autowired
     private CategoryService categoryService;
+    @Autowired
+    private ViewFragments viewFragments;
 
+    // /view/products?page=0&size=50 - randurile paginii vin din cache daca nimic nu s-a schimbat
     @GetMapping
-    public String viewProducts(Model model) {
-        model.addAttribute("products", productService.getAllProducts());
+    public String viewProducts(@RequestParam(defaultValue = "0") int page,
+                               @RequestParam(defaultValue = "50") int size,
+                               Model model, HttpServletRequest request, HttpServletResponse response) {
+        model.addAttribute("page", viewFragments.render("fragments/product-rows", page, size,
+                productService::getProductViewPage, request, response));
+        model.addAttribute("pageSizes", ViewFragments.PAGE_SIZES);
         return "products";
     }
 
     @GetMapping("/add")
     public String addProduct(Model model) {
         model.addAttribute("product", new Product());
-        model.addAttribute("categories", categoryService.getAllCategories());
+        model.addAttribute("categories", categoryService.getCategoryOptions());
         return "add-product";
     }
 
@@ -0,0 +1,67 @@
+package sda.academy.restdemo.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.web.servlet.JakartaServletWebApplication;
+import sda.academy.restdemo.config.CacheConfig;
+import sda.academy.restdemo.dto.RenderedPage;
+import sda.academy.restdemo.service.CatalogVersion;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+// Randurile tabelelor din view-uri sunt randate o singura data pe pagina si tinute in cache ca HTML.
+// Cheia contine versiunea catalogului: dupa orice scriere pe produse/categorii se randeaza din nou.
+@Component
+public class ViewFragments {
+    public static final List<Integer> PAGE_SIZES = List.of(20, 50, 100, 200);
+    private static final int MAX_PAGE_SIZE = 200;
+
+    @Autowired
+    private ITemplateEngine templateEngine;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private CatalogVersion catalogVersion;
+
+    // template-ul primeste randurile paginii in variabila "items"
+    public RenderedPage render(String template, int page, int size, BiFunction<Integer, Integer, Page<?>> loader,
+                               HttpServletRequest request, HttpServletResponse response) {
+        int pageNumber = Math.max(page, 0);
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        String key = template + ":" + catalogVersion.current() + ":" + pageNumber + ":" + pageSize;
+
+        Cache cache = cacheManager.getCache(CacheConfig.VIEW_FRAGMENTS);
+        return cache.get(key, () -> {
+            Page<?> data = loader.apply(pageNumber, pageSize);
+            WebContext context = new WebContext(
+                    JakartaServletWebApplication.buildApplication(request.getServletContext())
+                            .buildExchange(request, withoutUrlRewriting(response)),
+                    request.getLocale(),
+                    Map.of("items", data.getContent()));
+            String rows = templateEngine.process(template, context);
+            return new RenderedPage(rows, pageNumber, pageSize, data.getTotalElements(), data.getTotalPages());
+        });
+    }
+
+    // fragmentele sunt comune tuturor utilizatorilor: link-urile nu au voie sa contina ;jsessionid=...
+    private static HttpServletResponse withoutUrlRewriting(HttpServletResponse response) {
+        return new HttpServletResponseWrapper(response) {
+            @Override
+            public String encodeURL(String url) {
+                return url;
+            }
+        };
+    }
+}
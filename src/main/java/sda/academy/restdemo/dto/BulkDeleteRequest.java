@@ -0,0 +1,42 @@
+package sda.academy.restdemo.dto;
+
+import java.util.List;
+
+// POST /api/products/bulk-delete: fie lista de id-uri, fie un filtru (categorie si/sau pret sub un prag)
+public class BulkDeleteRequest {
+    private List<Integer> ids;
+    private Integer categoryId;
+    private Double priceBelow;
+
+    public boolean hasIds() {
+        return ids != null && !ids.isEmpty();
+    }
+
+    public boolean hasFilter() {
+        return categoryId != null || priceBelow != null;
+    }
+
+    public List<Integer> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Integer> ids) {
+        this.ids = ids;
+    }
+
+    public Integer getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Integer categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public Double getPriceBelow() {
+        return priceBelow;
+    }
+
+    public void setPriceBelow(Double priceBelow) {
+        this.priceBelow = priceBelow;
+    }
+}
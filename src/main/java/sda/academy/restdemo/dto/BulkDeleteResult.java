@@ -0,0 +1,20 @@
+package sda.academy.restdemo.dto;
+
+public class BulkDeleteResult {
+    private int deleted;
+
+    public BulkDeleteResult(int deleted) {
+        this.deleted = deleted;
+    }
+
+    public BulkDeleteResult() {
+    }
+
+    public int getDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(int deleted) {
+        this.deleted = deleted;
+    }
+}
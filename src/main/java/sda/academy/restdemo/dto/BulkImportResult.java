@@ -0,0 +1,68 @@
+package sda.academy.restdemo.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// raportul unui import bulk: cate randuri au venit, cate s-au salvat si ce erori au avut celelalte
+public class BulkImportResult {
+    private int received;
+    private int imported;
+    private List<RowError> errors = new ArrayList<>();
+
+    public void addError(int row, String message) {
+        errors.add(new RowError(row, message));
+    }
+
+    public int getReceived() {
+        return received;
+    }
+
+    public void setReceived(int received) {
+        this.received = received;
+    }
+
+    public int getImported() {
+        return imported;
+    }
+
+    public void setImported(int imported) {
+        this.imported = imported;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<RowError> errors) {
+        this.errors = errors;
+    }
+
+    public static class RowError {
+        private int row; // pozitia in request, incepand de la 0
+        private String message;
+
+        public RowError(int row, String message) {
+            this.row = row;
+            this.message = message;
+        }
+
+        public RowError() {
+        }
+
+        public int getRow() {
+            return row;
+        }
+
+        public void setRow(int row) {
+            this.row = row;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public void setMessage(String message) {
+            this.message = message;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package sda.academy.restdemo.dto;
+
+// un rand din sidebar: cate produse are categoria (in intervalul de pret cerut) si intre ce preturi
+public class CategoryFacet {
+    private Integer categoryId; // null = produse fara categorie
+    private String categoryName;
+    private Long productCount;
+    private Double minPrice;
+    private Double maxPrice;
+
+    public CategoryFacet(Integer categoryId, String categoryName, Long productCount, Double minPrice, Double maxPrice) {
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        this.productCount = productCount;
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+    }
+
+    public CategoryFacet() {
+    }
+
+    public Integer getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Integer categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public String getCategoryName() {
+        return categoryName;
+    }
+
+    public void setCategoryName(String categoryName) {
+        this.categoryName = categoryName;
+    }
+
+    public Long getProductCount() {
+        return productCount;
+    }
+
+    public void setProductCount(Long productCount) {
+        this.productCount = productCount;
+    }
+
+    public Double getMinPrice() {
+        return minPrice;
+    }
+
+    public void setMinPrice(Double minPrice) {
+        this.minPrice = minPrice;
+    }
+
+    public Double getMaxPrice() {
+        return maxPrice;
+    }
+
+    public void setMaxPrice(Double maxPrice) {
+        this.maxPrice = maxPrice;
+    }
+}
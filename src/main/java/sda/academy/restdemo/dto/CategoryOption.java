@@ -0,0 +1,31 @@
+package sda.academy.restdemo.dto;
+
+// o optiune din <select>-ul de categorii
+public class CategoryOption {
+    private int id;
+    private String name;
+
+    public CategoryOption(int id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    public CategoryOption() {
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+}
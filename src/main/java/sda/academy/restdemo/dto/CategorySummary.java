@@ -0,0 +1,41 @@
+package sda.academy.restdemo.dto;
+
+// proiectie read-only pentru listari: doar id, nume si numarul de produse, fara colectia de produse
+public class CategorySummary {
+    private Integer id;
+    private String name;
+    private Long productCount;
+
+    public CategorySummary(Integer id, String name, Long productCount) {
+        this.id = id;
+        this.name = name;
+        this.productCount = productCount;
+    }
+
+    public CategorySummary() {
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Long getProductCount() {
+        return productCount;
+    }
+
+    public void setProductCount(Long productCount) {
+        this.productCount = productCount;
+    }
+}
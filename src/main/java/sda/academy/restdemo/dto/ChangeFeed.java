@@ -0,0 +1,69 @@
+package sda.academy.restdemo.dto;
+
+import sda.academy.restdemo.model.ChangeLogEntry;
+import sda.academy.restdemo.model.Product;
+
+import java.util.List;
+
+// Raspunsul de la /api/changes: intrarile dupa `since`, plus starea curenta a produselor si
+// categoriilor modificate in intrarile astea (cele sterse intre timp lipsesc).
+// Clientul trimite inapoi nextSince; daca hasMore e true, mai sunt intrari.
+public class ChangeFeed {
+    private List<ChangeLogEntry> changes;
+    private List<Product> products;
+    private List<CategoryOption> categories;
+    private long nextSince;
+    private boolean hasMore;
+
+    public ChangeFeed(List<ChangeLogEntry> changes, List<Product> products, List<CategoryOption> categories,
+                      long nextSince, boolean hasMore) {
+        this.changes = changes;
+        this.products = products;
+        this.categories = categories;
+        this.nextSince = nextSince;
+        this.hasMore = hasMore;
+    }
+
+    public ChangeFeed() {
+    }
+
+    public List<ChangeLogEntry> getChanges() {
+        return changes;
+    }
+
+    public void setChanges(List<ChangeLogEntry> changes) {
+        this.changes = changes;
+    }
+
+    public List<Product> getProducts() {
+        return products;
+    }
+
+    public void setProducts(List<Product> products) {
+        this.products = products;
+    }
+
+    public List<CategoryOption> getCategories() {
+        return categories;
+    }
+
+    public void setCategories(List<CategoryOption> categories) {
+        this.categories = categories;
+    }
+
+    public long getNextSince() {
+        return nextSince;
+    }
+
+    public void setNextSince(long nextSince) {
+        this.nextSince = nextSince;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
@@ -0,0 +1,42 @@
+package sda.academy.restdemo.dto;
+
+import java.util.List;
+
+public class ProductFacets {
+    private List<CategoryFacet> categories;
+    private Double minPrice;
+    private Double maxPrice;
+
+    public ProductFacets(List<CategoryFacet> categories, Double minPrice, Double maxPrice) {
+        this.categories = categories;
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+    }
+
+    public ProductFacets() {
+    }
+
+    public List<CategoryFacet> getCategories() {
+        return categories;
+    }
+
+    public void setCategories(List<CategoryFacet> categories) {
+        this.categories = categories;
+    }
+
+    public Double getMinPrice() {
+        return minPrice;
+    }
+
+    public void setMinPrice(Double minPrice) {
+        this.minPrice = minPrice;
+    }
+
+    public Double getMaxPrice() {
+        return maxPrice;
+    }
+
+    public void setMaxPrice(Double maxPrice) {
+        this.maxPrice = maxPrice;
+    }
+}
@@ -0,0 +1,45 @@
+package sda.academy.restdemo.dto;
+
+import sda.academy.restdemo.model.Product;
+
+import java.util.List;
+
+// pagina de produse filtrate + fatetele pentru sidebar, in acelasi raspuns
+public class ProductFilterResult {
+    private List<Product> items;
+    private String nextCursor;
+    private ProductFacets facets;
+
+    public ProductFilterResult(List<Product> items, String nextCursor, ProductFacets facets) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.facets = facets;
+    }
+
+    public ProductFilterResult() {
+    }
+
+    public List<Product> getItems() {
+        return items;
+    }
+
+    public void setItems(List<Product> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public ProductFacets getFacets() {
+        return facets;
+    }
+
+    public void setFacets(ProductFacets facets) {
+        this.facets = facets;
+    }
+}
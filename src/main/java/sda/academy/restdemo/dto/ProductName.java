@@ -0,0 +1,20 @@
+package sda.academy.restdemo.dto;
+
+// doar id + nume, pentru construirea indexului de cautare fara sa incarce entitatile
+public class ProductName {
+    private Integer id;
+    private String name;
+
+    public ProductName(Integer id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
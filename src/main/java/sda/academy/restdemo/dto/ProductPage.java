@@ -0,0 +1,35 @@
+package sda.academy.restdemo.dto;
+
+import sda.academy.restdemo.model.Product;
+
+import java.util.List;
+
+// o pagina de produse + cursorul opac pentru pagina urmatoare (null daca nu mai exista)
+public class ProductPage {
+    private List<Product> items;
+    private String nextCursor;
+
+    public ProductPage(List<Product> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public ProductPage() {
+    }
+
+    public List<Product> getItems() {
+        return items;
+    }
+
+    public void setItems(List<Product> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,54 @@
+package sda.academy.restdemo.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+
+// PATCH /api/products/{id}: doar campurile trimise (non-null) se modifica.
+// version e optional; daca lipseste, se poate trimite ETag-ul in If-Match
+public class ProductPatch {
+    @Pattern(regexp = ".*\\S.*", message = "Product name cannot be blank")
+    private String name;
+
+    @Min(value = 1, message = "Price must be at least 1")
+    private Double price;
+
+    private Integer categoryId;
+
+    private Long version;
+
+    public boolean isEmpty() {
+        return name == null && price == null && categoryId == null;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Double getPrice() {
+        return price;
+    }
+
+    public void setPrice(Double price) {
+        this.price = price;
+    }
+
+    public Integer getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Integer categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,42 @@
+package sda.academy.restdemo.dto;
+
+// versiunea produsului + a categoriei lui (categoria apare in JSON-ul produsului),
+// citite fara sa incarc entitatile - suficient pentru a raspunde 304 la If-None-Match
+public class ProductVersion {
+    private long version;
+    private Integer categoryId;
+    private Long categoryVersion;
+
+    public ProductVersion(long version, Integer categoryId, Long categoryVersion) {
+        this.version = version;
+        this.categoryId = categoryId;
+        this.categoryVersion = categoryVersion;
+    }
+
+    public ProductVersion() {
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public Integer getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Integer categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public Long getCategoryVersion() {
+        return categoryVersion;
+    }
+
+    public void setCategoryVersion(Long categoryVersion) {
+        this.categoryVersion = categoryVersion;
+    }
+}
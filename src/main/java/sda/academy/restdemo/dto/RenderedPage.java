@@ -0,0 +1,46 @@
+package sda.academy.restdemo.dto;
+
+// o pagina dintr-un view HTML: randurile tabelului deja randate + datele pentru navigare
+public class RenderedPage {
+    private final String rowsHtml;
+    private final int page;
+    private final int size;
+    private final long totalElements;
+    private final int totalPages;
+
+    public RenderedPage(String rowsHtml, int page, int size, long totalElements, int totalPages) {
+        this.rowsHtml = rowsHtml;
+        this.page = page;
+        this.size = size;
+        this.totalElements = totalElements;
+        this.totalPages = totalPages;
+    }
+
+    public String getRowsHtml() {
+        return rowsHtml;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public long getTotalElements() {
+        return totalElements;
+    }
+
+    public int getTotalPages() {
+        return totalPages;
+    }
+
+    public boolean isFirst() {
+        return page == 0;
+    }
+
+    public boolean isLast() {
+        return page + 1 >= totalPages;
+    }
+}
@@ -0,0 +1,40 @@
+package sda.academy.restdemo.dto;
+
+// raspunsul de la POST /api/auth/token; clientul trimite mai departe "Authorization: Bearer <accessToken>"
+public class TokenResponse {
+    private String accessToken;
+    private String tokenType = "Bearer";
+    private long expiresIn;
+
+    public TokenResponse(String accessToken, long expiresIn) {
+        this.accessToken = accessToken;
+        this.expiresIn = expiresIn;
+    }
+
+    public TokenResponse() {
+    }
+
+    public String getAccessToken() {
+        return accessToken;
+    }
+
+    public void setAccessToken(String accessToken) {
+        this.accessToken = accessToken;
+    }
+
+    public String getTokenType() {
+        return tokenType;
+    }
+
+    public void setTokenType(String tokenType) {
+        this.tokenType = tokenType;
+    }
+
+    public long getExpiresIn() {
+        return expiresIn;
+    }
+
+    public void setExpiresIn(long expiresIn) {
+        this.expiresIn = expiresIn;
+    }
+}
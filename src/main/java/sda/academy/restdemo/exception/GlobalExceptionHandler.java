@@ -1,5 +1,6 @@
 package sda.academy.restdemo.exception;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -28,6 +29,13 @@ public class GlobalExceptionHandler {
 
 
 
+    // @Version diferit de cel asteptat: clientul trebuie sa reciteasca resursa
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ErrorResponse handleOptimisticLock(OptimisticLockingFailureException ex){
+        return new ErrorResponse("The resource was modified by another request, reload it and retry");
+    }
+
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ErrorResponse handleValidationException(MethodArgumentNotValidException ex){
@@ -0,0 +1,37 @@
+package sda.academy.restdemo.metrics;
+
+import org.hibernate.BaseSessionEventListener;
+
+// Instantiat de Hibernate pentru fiecare Session (hibernate.session.events.auto).
+// O sesiune e folosita de un singur thread, deci campurile nu au nevoie de sincronizare.
+public class QueryTrackingSessionListener extends BaseSessionEventListener {
+    private long statementStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        record(System.nanoTime() - statementStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        record(System.nanoTime() - batchStart);
+    }
+
+    private void record(long nanos) {
+        RequestQueryTracker tracker = RequestQueryTracker.current();
+        if (tracker != null) {
+            tracker.recordExecution(1, nanos);
+        }
+    }
+}
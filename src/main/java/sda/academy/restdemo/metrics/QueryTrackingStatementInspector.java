@@ -0,0 +1,16 @@
+package sda.academy.restdemo.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Retine textul SQL pregatit in requestul curent, pentru logul de request-uri lente. Nu modifica SQL-ul.
+public class QueryTrackingStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        RequestQueryTracker tracker = RequestQueryTracker.current();
+        if (tracker != null) {
+            tracker.recordSql(sql);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,75 @@
+package sda.academy.restdemo.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Pentru fiecare request: numarul de statement-uri SQL si timpul petrecut in JDBC, pe acelasi uri template
+// ca http.server.requests. Request-urile lente sunt logate (esantionat) cu SQL-ul pe care l-au rulat.
+@Component
+public class RequestMetricsFilter extends OncePerRequestFilter {
+    private static final Logger log = LoggerFactory.getLogger(RequestMetricsFilter.class);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${catalog.metrics.slow-request-threshold-ms:500}")
+    private long slowRequestThresholdMs;
+
+    @Value("${catalog.metrics.slow-request-sample-rate:0.1}")
+    private double slowRequestSampleRate;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestQueryTracker tracker = RequestQueryTracker.start();
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long elapsedNanos = System.nanoTime() - start;
+            RequestQueryTracker.stop();
+            record(request, response, tracker, elapsedNanos);
+        }
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, RequestQueryTracker tracker, long elapsedNanos) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        Tags tags = Tags.of("method", request.getMethod(), "uri", uri);
+
+        DistributionSummary.builder("catalog.request.sql.statements")
+                .description("SQL statements executed per HTTP request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(tracker.getStatements());
+        Timer.builder("catalog.request.jdbc")
+                .description("Time spent executing JDBC statements per HTTP request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(tracker.getJdbcNanos(), TimeUnit.NANOSECONDS);
+
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        if (elapsedMs >= slowRequestThresholdMs && ThreadLocalRandom.current().nextDouble() < slowRequestSampleRate) {
+            log.warn("Slow request {} {} -> {} in {} ms, {} SQL statements, {} ms in JDBC: {}",
+                    request.getMethod(), uri, response.getStatus(), elapsedMs, tracker.getStatements(),
+                    TimeUnit.NANOSECONDS.toMillis(tracker.getJdbcNanos()), tracker.getSql());
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package sda.academy.restdemo.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Ce a facut un request HTTP in baza de date: cate statement-uri, cat timp in JDBC si primele SQL-uri.
+// Legat de thread-ul requestului; Hibernate il completeaza prin QueryTrackingSessionListener
+// si QueryTrackingStatementInspector, iar RequestMetricsFilter il porneste si il citeste.
+public final class RequestQueryTracker {
+    private static final int MAX_CAPTURED_STATEMENTS = 50;
+    private static final ThreadLocal<RequestQueryTracker> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long jdbcNanos;
+    private final List<String> sql = new ArrayList<>();
+
+    public static RequestQueryTracker start() {
+        RequestQueryTracker tracker = new RequestQueryTracker();
+        CURRENT.set(tracker);
+        return tracker;
+    }
+
+    public static RequestQueryTracker current() {
+        return CURRENT.get();
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    void recordExecution(int count, long nanos) {
+        statements += count;
+        jdbcNanos += nanos;
+    }
+
+    void recordSql(String statement) {
+        if (sql.size() < MAX_CAPTURED_STATEMENTS) {
+            sql.add(statement);
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getJdbcNanos() {
+        return jdbcNanos;
+    }
+
+    public List<String> getSql() {
+        return Collections.unmodifiableList(sql);
+    }
+}
@@ -0,0 +1,73 @@
+package sda.academy.restdemo.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+// Diagnostic pentru virtual threads: asculta evenimentul JFR jdk.VirtualThreadPinned (un virtual thread
+// care a blocat thread-ul carrier, ex. in cod nativ sau intr-un monitor) si il logheaza cu stack trace.
+@Lazy(false)
+@Component
+@ConditionalOnProperty(name = "catalog.virtual-threads.pinning-diagnostics", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${catalog.virtual-threads.pinning-threshold-ms:20}")
+    private long thresholdMs;
+
+    private RecordingStream recording;
+
+    @PostConstruct
+    public void start() {
+        Counter pinned = Counter.builder("catalog.virtual.threads.pinned")
+                .description("Virtual thread pinning events longer than the configured threshold")
+                .register(meterRegistry);
+
+        recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(Duration.ofMillis(thresholdMs)).withStackTrace();
+        recording.onEvent(PINNED_EVENT, event -> {
+            pinned.increment();
+            log.warn("Virtual thread pinned for {} ms:\n{}", event.getDuration().toMillis(), stackTrace(event));
+        });
+        recording.startAsync();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    private static String stackTrace(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "\t(no stack trace)";
+        }
+        return event.getStackTrace().getFrames().stream()
+                .map(VirtualThreadPinningMonitor::frame)
+                .collect(Collectors.joining("\n"));
+    }
+
+    private static String frame(RecordedFrame frame) {
+        return "\tat " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + ":" + frame.getLineNumber();
+    }
+}
@@ -3,6 +3,7 @@ package sda.academy.restdemo.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.List;
 
@@ -19,6 +20,10 @@ public class Category {
     @OneToMany(mappedBy = "category")
     private List<Product> products;
 
+    @Version
+    @ColumnDefault("0")
+    private long version;
+
 
     public int getId() {
         return id;
@@ -43,4 +48,12 @@ public class Category {
     public void setProducts(List<Product> products) {
         this.products = products;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,137 @@
+package sda.academy.restdemo.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+// Stergerea unei categorii mari, facuta in fundal pe bucati. Randul e si checkpoint-ul:
+// lastProductId se salveaza in aceeasi tranzactie cu bucata mutata, deci dupa un crash jobul continua de acolo.
+@Entity
+public class CategoryRemovalJob {
+
+    public enum Status {
+        PENDING, RUNNING, COMPLETED, FAILED;
+
+        public boolean isFinished() {
+            return this == COMPLETED || this == FAILED;
+        }
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+
+    private int categoryId;
+
+    // null = produsele raman fara categorie
+    private Integer targetCategoryId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16, nullable = false)
+    private Status status;
+
+    private long productsTotal;
+
+    private long productsMoved;
+
+    private int lastProductId = Integer.MIN_VALUE;
+
+    @Column(length = 500)
+    private String error;
+
+    private Instant createdAt;
+
+    private Instant updatedAt;
+
+    // doua instante care reiau acelasi job nu pot salva amandoua progresul: una primeste optimistic lock failure
+    @Version
+    private long version;
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public int getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(int categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public Integer getTargetCategoryId() {
+        return targetCategoryId;
+    }
+
+    public void setTargetCategoryId(Integer targetCategoryId) {
+        this.targetCategoryId = targetCategoryId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public long getProductsTotal() {
+        return productsTotal;
+    }
+
+    public void setProductsTotal(long productsTotal) {
+        this.productsTotal = productsTotal;
+    }
+
+    public long getProductsMoved() {
+        return productsMoved;
+    }
+
+    public void setProductsMoved(long productsMoved) {
+        this.productsMoved = productsMoved;
+    }
+
+    public int getLastProductId() {
+        return lastProductId;
+    }
+
+    public void setLastProductId(int lastProductId) {
+        this.lastProductId = lastProductId;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,32 @@
+package sda.academy.restdemo.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+// Un singur rand (id = 1): ultimul seq dat in change log. UPDATE-ul pe el la commit tine lock-ul pe rand
+// pana la sfarsitul tranzactiei, deci secventele sunt date in ordinea commit-urilor.
+@Entity
+public class ChangeLogCounter {
+    public static final int ID = 1;
+
+    @Id
+    private int id;
+
+    private long lastSeq;
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public long getLastSeq() {
+        return lastSeq;
+    }
+
+    public void setLastSeq(long lastSeq) {
+        this.lastSeq = lastSeq;
+    }
+}
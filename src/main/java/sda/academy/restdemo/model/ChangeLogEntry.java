@@ -0,0 +1,79 @@
+package sda.academy.restdemo.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+// O intrare din change log: ce s-a schimbat (nu si datele), cu un numar de secventa crescator.
+// seq e dat de ChangeLogService la commit, in ordinea commit-urilor, deci un client care a citit
+// pana la seq N nu poate rata mai tarziu o intrare cu seq mai mic.
+@Entity
+public class ChangeLogEntry {
+
+    public enum Type {
+        PRODUCT_UPSERTED,
+        PRODUCT_DELETED,
+        // produsele din entityIds au acum categoria categoryId (null = fara categorie)
+        PRODUCT_CATEGORY_CHANGED,
+        CATEGORY_UPSERTED,
+        // toate produsele categoriei au ramas fara categorie
+        CATEGORY_CLEARED,
+        // categoria a fost stearsa; produsele ei (daca mai erau) au ramas fara categorie
+        CATEGORY_DELETED
+    }
+
+    @Id
+    private long seq;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 32, nullable = false)
+    private Type type;
+
+    // id-urile afectate, separate prin virgula (o operatie in bloc = o singura intrare)
+    @Column(length = 8000, nullable = false)
+    private String entityIds;
+
+    private Integer categoryId;
+
+    private Instant createdAt;
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public void setSeq(long seq) {
+        this.seq = seq;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public String getEntityIds() {
+        return entityIds;
+    }
+
+    public void setEntityIds(String entityIds) {
+        this.entityIds = entityIds;
+    }
+
+    public Integer getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Integer categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+}
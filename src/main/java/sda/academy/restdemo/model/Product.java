@@ -4,16 +4,23 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 import lombok.Data;
+import org.hibernate.annotations.ColumnDefault;
 
+// tabela si indexurile ei sunt definite in migrarile din src/main/resources/db/migration
 @Entity
 @Data
 public class Product {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    // secventa pooled: Hibernate rezerva cate 50 de id-uri odata, deci insert-urile pot fi trimise in batch JDBC
+    // (cu IDENTITY fiecare insert trebuie executat imediat ca sa afle id-ul)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq")
+    @SequenceGenerator(name = "product_seq", sequenceName = "product_seq", allocationSize = 50)
     private int id;
 
     @NotBlank(message = "Product name cannot be blank" )
+    @Size(max = 255, message = "Product name must have at most 255 characters")
     private String name;
 
     @Min(value = 1, message = "Price must be at least 1")
@@ -25,6 +32,11 @@ public class Product {
 
     private Category category;
 
+    // versiune pentru optimistic locking; din ea se calculeaza si ETag-ul produsului
+    @Version
+    @ColumnDefault("0")
+    private long version;
+
     public int getId() {
         return id;
     }
@@ -56,4 +68,12 @@ public class Product {
     public void setCategory(Category category) {
         this.category = category;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,15 @@
+package sda.academy.restdemo.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import sda.academy.restdemo.model.CategoryRemovalJob;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface CategoryRemovalJobRepository extends JpaRepository<CategoryRemovalJob, Long> {
+
+    // joburile neterminate, reluate la pornire
+    List<CategoryRemovalJob> findByStatusInOrderById(Collection<CategoryRemovalJob.Status> statuses);
+
+    boolean existsByCategoryIdAndStatusIn(int categoryId, Collection<CategoryRemovalJob.Status> statuses);
+}
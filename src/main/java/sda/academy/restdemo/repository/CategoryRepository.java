@@ -1,9 +1,50 @@
 package sda.academy.restdemo.repository;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import sda.academy.restdemo.dto.CategoryOption;
+import sda.academy.restdemo.dto.CategorySummary;
 import sda.academy.restdemo.model.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 public interface CategoryRepository extends JpaRepository<Category, Integer> {
 
+    // pentru /api/categories, unde Jackson serializeaza si lista de produse: un singur SELECT cu join
+    @EntityGraph(attributePaths = "products")
+    @Query("select c from Category c order by c.id")
+    List<Category> findAllWithProducts();
+
+    // numarul de produse e calculat de baza de date, intr-un singur GROUP BY (foloseste indexul pe category_id)
+    @Query("select new sda.academy.restdemo.dto.CategorySummary(c.id, c.name, count(p.id)) "
+            + "from Category c left join c.products p group by c.id, c.name order by c.id")
+    List<CategorySummary> findAllSummaries();
+
+    // aceleasi sumare, cate o pagina (view-ul /view/categories)
+    @Query(value = "select new sda.academy.restdemo.dto.CategorySummary(c.id, c.name, count(p.id)) "
+            + "from Category c left join c.products p group by c.id, c.name order by c.id",
+            countQuery = "select count(c) from Category c")
+    Page<CategorySummary> findSummaryPage(Pageable pageable);
+
+    // dropdown-ul din formularul de produs: doar id si nume
+    @Query("select new sda.academy.restdemo.dto.CategoryOption(c.id, c.name) from Category c order by c.name")
+    List<CategoryOption> findAllOptions();
+
+    @Query("select new sda.academy.restdemo.dto.CategoryOption(c.id, c.name) from Category c where c.id in :ids order by c.id")
+    List<CategoryOption> findOptionsByIdIn(@Param("ids") Collection<Integer> ids);
+
+    // verificare in bloc: care dintre id-uri exista, intr-o singura interogare
+    @Query("select c.id from Category c where c.id in :ids")
+    List<Integer> findExistingIds(@Param("ids") Collection<Integer> ids);
+
+    // pentru ETag: doar coloana version
+    @Query("select c.version from Category c where c.id = :id")
+    Optional<Long> findVersionById(@Param("id") int id);
 
 }
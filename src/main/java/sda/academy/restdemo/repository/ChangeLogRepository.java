@@ -0,0 +1,31 @@
+package sda.academy.restdemo.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import sda.academy.restdemo.model.ChangeLogEntry;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface ChangeLogRepository extends JpaRepository<ChangeLogEntry, Long> {
+
+    @Query("select e from ChangeLogEntry e where e.seq > :since order by e.seq")
+    List<ChangeLogEntry> findAfter(@Param("since") long since, Pageable pageable);
+
+    @Query("select min(e.seq) from ChangeLogEntry e")
+    Long findOldestSeq();
+
+    // ultimul seq confirmat (commit), chiar daca intrarile lui au fost compactate
+    @Query("select c.lastSeq from ChangeLogCounter c where c.id = 1")
+    Long findHeadSeq();
+
+    // compactare: intrarile mai vechi decat retentia
+    @Transactional
+    @Modifying
+    @Query("delete from ChangeLogEntry e where e.createdAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") Instant cutoff);
+}
@@ -1,15 +1,117 @@
 package sda.academy.restdemo.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.QueryHints;
+import sda.academy.restdemo.dto.CategoryFacet;
+import sda.academy.restdemo.dto.ProductName;
+import sda.academy.restdemo.dto.ProductVersion;
+import sda.academy.restdemo.model.Category;
 import sda.academy.restdemo.model.Product;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-public interface ProductRepository extends JpaRepository<Product, Integer> {
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface ProductRepository extends JpaRepository<Product, Integer>, JpaSpecificationExecutor<Product>,
+        ProductRepositoryCustom {
 
 
     @Modifying(flushAutomatically = true, clearAutomatically = true)
     @Query("update Product p set p.category = null where p.category.id = :catId ")
     int clearCategoryByCategoryID(@Param("catId") Integer catId);
+
+    // categoria e EAGER: fara fetch plan explicit Hibernate ar face cate un SELECT pentru fiecare categorie din lista
+    @EntityGraph(attributePaths = "category")
+    @Query("select p from Product p order by p.id")
+    List<Product> findAllWithCategory();
+
+    // pagina din view-ul HTML: paginare cu numar de pagina (+ COUNT pentru numarul total de pagini)
+    @EntityGraph(attributePaths = "category")
+    @Query(value = "select p from Product p order by p.id", countQuery = "select count(p) from Product p")
+    Page<Product> findViewPage(Pageable pageable);
+
+    // keyset pagination: conditia "cheie >= valoare" ramane pe index (price,id) / (name,id),
+    // iar OR-ul doar departajeaza randurile cu aceeasi cheie -> cost constant indiferent de pagina
+    @EntityGraph(attributePaths = "category")
+    @Query("select p from Product p where p.id > :afterId order by p.id")
+    List<Product> findPageOrderById(@Param("afterId") int afterId, Pageable pageable);
+
+    @EntityGraph(attributePaths = "category")
+    @Query("select p from Product p where p.price >= :price and (p.price > :price or p.id > :afterId) order by p.price, p.id")
+    List<Product> findPageOrderByPrice(@Param("price") double price, @Param("afterId") int afterId, Pageable pageable);
+
+    @EntityGraph(attributePaths = "category")
+    @Query("select p from Product p where p.name >= :name and (p.name > :name or p.id > :afterId) order by p.name, p.id")
+    List<Product> findPageOrderByName(@Param("name") String name, @Param("afterId") int afterId, Pageable pageable);
+
+    // export: cursor JDBC citit in bucati de cate 500 de randuri, entitati read-only (fara snapshot pentru dirty checking)
+    // Stream-ul trebuie consumat intr-o tranzactie si inchis (try-with-resources)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select p from Product p left join fetch p.category order by p.id")
+    Stream<Product> streamAllForExport();
+
+    // pentru indexul de cautare dupa nume: doar (id, name), fara entitati in persistence context
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new sda.academy.restdemo.dto.ProductName(p.id, p.name) from Product p")
+    Stream<ProductName> streamNames();
+
+    // rezultatele cautarii: lookup dupa cheia primara, cu categoria in acelasi SELECT
+    @EntityGraph(attributePaths = "category")
+    List<Product> findByIdInOrderById(Collection<Integer> ids);
+
+    // fatetele pentru filtre: numar de produse si min/max pret pe fiecare categorie, intr-un singur GROUP BY
+    @Query("select new sda.academy.restdemo.dto.CategoryFacet(c.id, c.name, count(p.id), min(p.price), max(p.price)) "
+            + "from Product p left join p.category c "
+            + "where p.price between :minPrice and :maxPrice "
+            + "group by c.id, c.name order by c.id")
+    List<CategoryFacet> findCategoryFacets(@Param("minPrice") double minPrice, @Param("maxPrice") double maxPrice);
+
+    // doar versiunile (produs + categorie) pentru ETag, fara sa hidratez entitatea
+    @Query("select new sda.academy.restdemo.dto.ProductVersion(p.version, c.id, c.version) "
+            + "from Product p left join p.category c where p.id = :id")
+    Optional<ProductVersion> findVersionById(@Param("id") int id);
+
+    // stergere in bloc: id-urile care corespund filtrului (null = fara filtru), cate o bucata odata
+    @Query("select p.id from Product p "
+            + "where (:categoryId is null or p.category.id = :categoryId) "
+            + "and (:priceBelow is null or p.price < :priceBelow) "
+            + "and p.id > :afterId order by p.id")
+    List<Integer> findIdsForDeletion(@Param("categoryId") Integer categoryId, @Param("priceBelow") Double priceBelow,
+                                     @Param("afterId") int afterId, Pageable pageable);
+
+    // un singur DELETE pentru toata bucata, fara sa incarce entitatile
+    @Modifying
+    @Query("delete from Product p where p.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Integer> ids);
+
+    // mutarea produselor unei categorii pe bucati (job de stergere a categoriei)
+    @Query("select count(p) from Product p where p.category.id = :catId")
+    long countByCategoryId(@Param("catId") int catId);
+
+    @Query("select p.id from Product p where p.category.id = :catId and p.id > :afterId order by p.id")
+    List<Integer> findIdsByCategory(@Param("catId") int catId, @Param("afterId") int afterId, Pageable pageable);
+
+    // conditia pe categorie ramane: un produs mutat intre timp de altcineva nu e atins
+    @Modifying
+    @Query("update Product p set p.category = null, p.version = p.version + 1 "
+            + "where p.id in :ids and p.category.id = :catId")
+    int clearCategory(@Param("ids") Collection<Integer> ids, @Param("catId") int catId);
+
+    @Modifying
+    @Query("update Product p set p.category = :target, p.version = p.version + 1 "
+            + "where p.id in :ids and p.category.id = :catId")
+    int moveToCategory(@Param("ids") Collection<Integer> ids, @Param("catId") int catId, @Param("target") Category target);
 }
@@ -0,0 +1,11 @@
+package sda.academy.restdemo.repository;
+
+import sda.academy.restdemo.model.Category;
+
+public interface ProductRepositoryCustom {
+
+    // un singur UPDATE cu doar coloanele primite (null = neschimbat) si version = version + 1;
+    // daca expectedVersion nu e null, randul se modifica doar daca are inca versiunea asta.
+    // Intoarce numarul de randuri modificate (0 = produs inexistent sau versiune diferita).
+    int patch(int id, String name, Double price, Category category, Long expectedVersion);
+}
@@ -0,0 +1,44 @@
+package sda.academy.restdemo.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import sda.academy.restdemo.model.Category;
+import sda.academy.restdemo.model.Product;
+
+// UPDATE-ul se construieste cu Criteria pentru ca setul de coloane depinde de ce a trimis clientul.
+// Ocoleste persistence context-ul: nu se face SELECT inainte, dar nici entitatile deja incarcate nu sunt actualizate.
+class ProductRepositoryCustomImpl implements ProductRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int patch(int id, String name, Double price, Category category, Long expectedVersion) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Product> update = cb.createCriteriaUpdate(Product.class);
+        Root<Product> product = update.from(Product.class);
+
+        if (name != null) {
+            update.set(product.<String>get("name"), name);
+        }
+        if (price != null) {
+            update.set(product.<Double>get("price"), price);
+        }
+        if (category != null) {
+            // referinta (proxy): se leaga doar id-ul, categoria nu e citita
+            update.set(product.<Category>get("category"), category);
+        }
+        update.set(product.<Long>get("version"), cb.sum(product.<Long>get("version"), 1L));
+
+        Predicate where = cb.equal(product.get("id"), id);
+        if (expectedVersion != null) {
+            where = cb.and(where, cb.equal(product.get("version"), expectedVersion));
+        }
+        update.where(where);
+        return entityManager.createQuery(update).executeUpdate();
+    }
+}
@@ -0,0 +1,42 @@
+package sda.academy.restdemo.repository;
+
+import jakarta.persistence.criteria.JoinType;
+import org.springframework.data.jpa.domain.Specification;
+import sda.academy.restdemo.model.Product;
+
+// Bucatile de filtru pentru ProductRepository.findBy(...); un parametru null inseamna "fara filtru".
+public final class ProductSpecifications {
+
+    private ProductSpecifications() {
+    }
+
+    // categoria in acelasi SELECT (nu si in count query, unde fetch-ul nu e permis)
+    public static Specification<Product> fetchCategory() {
+        return (root, query, cb) -> {
+            if (query.getResultType() != Long.class && query.getResultType() != long.class) {
+                root.fetch("category", JoinType.LEFT);
+            }
+            return null;
+        };
+    }
+
+    public static Specification<Product> inCategory(Integer categoryId) {
+        return categoryId == null ? null
+                : (root, query, cb) -> cb.equal(root.get("category").get("id"), categoryId);
+    }
+
+    public static Specification<Product> priceAtLeast(Double minPrice) {
+        return minPrice == null ? null
+                : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("price"), minPrice);
+    }
+
+    public static Specification<Product> priceAtMost(Double maxPrice) {
+        return maxPrice == null ? null
+                : (root, query, cb) -> cb.lessThanOrEqualTo(root.get("price"), maxPrice);
+    }
+
+    public static Specification<Product> idAfter(Integer id) {
+        return id == null ? null
+                : (root, query, cb) -> cb.greaterThan(root.get("id"), id);
+    }
+}
@@ -0,0 +1,98 @@
+package sda.academy.restdemo.security;
+
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.regex.Pattern;
+
+// Token-uri HS256 pentru /api/**: cheia e construita o singura data, iar la fiecare request se verifica
+// doar semnatura si claim-urile (exp, nbf, iss) - fara lookup de utilizator si fara sesiune HTTP.
+@Configuration
+public class JwtConfig {
+    private static final Logger log = LoggerFactory.getLogger(JwtConfig.class);
+    static final String ROLES_CLAIM = "roles";
+    private static final Pattern PASSWORD_ALGORITHM = Pattern.compile("^\\{.+}.*$");
+
+    // catalog.security.jwt.secret = cel putin 32 de bytes in Base64, acelasi pe toate instantele;
+    // daca lipseste, se genereaza unul la pornire (token-urile nu mai sunt valide dupa restart)
+    @Bean
+    public SecretKey jwtSigningKey(@Value("${catalog.security.jwt.secret:}") String secret) {
+        byte[] bytes;
+        if (secret.isBlank()) {
+            bytes = new byte[32];
+            new SecureRandom().nextBytes(bytes);
+            log.warn("catalog.security.jwt.secret is not set, using a random key: tokens are valid only on this instance until restart");
+        } else {
+            bytes = Base64.getDecoder().decode(secret);
+            if (bytes.length < 32) {
+                throw new IllegalStateException("catalog.security.jwt.secret must be at least 32 bytes (Base64)");
+            }
+        }
+        return new SecretKeySpec(bytes, "HmacSHA256");
+    }
+
+    @Bean
+    public JwtEncoder jwtEncoder(SecretKey jwtSigningKey) {
+        return new NimbusJwtEncoder(new ImmutableSecret<>(jwtSigningKey));
+    }
+
+    @Bean
+    public JwtDecoder jwtDecoder(SecretKey jwtSigningKey, @Value("${catalog.security.jwt.issuer}") String issuer) {
+        NimbusJwtDecoder decoder = NimbusJwtDecoder.withSecretKey(jwtSigningKey)
+                .macAlgorithm(MacAlgorithm.HS256)
+                .build();
+        decoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(issuer));
+        return decoder;
+    }
+
+    // rolurile vin din claim-ul "roles" al token-ului, nu din baza de date
+    @Bean
+    public JwtAuthenticationConverter jwtAuthenticationConverter() {
+        JwtGrantedAuthoritiesConverter authorities = new JwtGrantedAuthoritiesConverter();
+        authorities.setAuthoritiesClaimName(ROLES_CLAIM);
+        authorities.setAuthorityPrefix("ROLE_");
+        JwtAuthenticationConverter converter = new JwtAuthenticationConverter();
+        converter.setJwtGrantedAuthoritiesConverter(authorities);
+        return converter;
+    }
+
+    // Spring Boot nu mai creeaza utilizatorul implicit cand exista un JwtDecoder, asa ca il definesc aici
+    // din aceleasi proprietati (spring.security.user.*), folosit de form login si de endpoint-ul de token
+    @Bean
+    public UserDetailsService userDetailsService(SecurityProperties properties) {
+        SecurityProperties.User user = properties.getUser();
+        if (user.isPasswordGenerated()) {
+            log.warn("Using generated security password: {}", user.getPassword());
+        }
+        return new InMemoryUserDetailsManager(User.withUsername(user.getName())
+                .password(passwordWithEncoding(user.getPassword()))
+                .roles(user.getRoles().toArray(new String[0]))
+                .build());
+    }
+
+    // ca in UserDetailsServiceAutoConfiguration: o parola deja codificata ({bcrypt}...) ramane asa,
+    // iar una in clar primeste prefixul {noop}
+    private static String passwordWithEncoding(String password) {
+        return PASSWORD_ALGORITHM.matcher(password).matches() ? password : "{noop}" + password;
+    }
+}
@@ -2,14 +2,62 @@ package sda.academy.restdemo.security;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.oauth2.server.resource.web.BearerTokenResolver;
+import org.springframework.security.oauth2.server.resource.web.DefaultBearerTokenResolver;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 
 @Configuration
 
 public class SecurityConfig {
 
+    // POST /api/auth/token: user si parola prin HTTP Basic, raspunsul e un JWT; fara sesiune
     @Bean
+    @Order(1)
+    public SecurityFilterChain tokenFilter(HttpSecurity http) throws Exception {
+        http.securityMatcher("/api/auth/token")
+                .authorizeHttpRequests(auth -> auth.anyRequest().authenticated())
+                .httpBasic(Customizer.withDefaults())
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .csrf(csrf -> csrf.disable());
+        return http.build();
+    }
+
+    // /api/**: doar "Authorization: Bearer <jwt>", fara HttpSession (nici pentru request cache);
+    // CSRF nu se aplica pentru ca browserul nu trimite token-ul automat, ca pe un cookie
+    @Bean
+    @Order(2)
+    public SecurityFilterChain apiFilter(HttpSecurity http) throws Exception {
+        http.securityMatcher("/api/**")
+                .authorizeHttpRequests(auth -> auth.anyRequest().authenticated())
+                .oauth2ResourceServer(oauth2 -> oauth2
+                        .bearerTokenResolver(bearerTokenResolver())
+                        .jwt(Customizer.withDefaults()))
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .requestCache(cache -> cache.disable())
+                .csrf(csrf -> csrf.disable());
+        return http.build();
+    }
+
+    // EventSource din browser nu poate trimite header-ul Authorization, asa ca doar pentru
+    // GET /api/changes/stream token-ul e acceptat si ca ?access_token=...; restul /api/** cere header-ul
+    private static BearerTokenResolver bearerTokenResolver() {
+        DefaultBearerTokenResolver headerOnly = new DefaultBearerTokenResolver();
+        DefaultBearerTokenResolver headerOrQuery = new DefaultBearerTokenResolver();
+        headerOrQuery.setAllowUriQueryParameter(true);
+        RequestMatcher changeStream = PathPatternRequestMatcher.withDefaults().matcher(HttpMethod.GET, "/api/changes/stream");
+        return request -> changeStream.matches(request) ? headerOrQuery.resolve(request) : headerOnly.resolve(request);
+    }
+
+    // restul aplicatiei (view-urile Thymeleaf) ramane cu form login si sesiune
+    @Bean
+    @Order(3)
     public SecurityFilterChain securityFilter(HttpSecurity http) throws Exception {
         http.authorizeHttpRequests( auth-> auth.
                 requestMatchers("/home").permitAll()
@@ -0,0 +1,48 @@
+package sda.academy.restdemo.security;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.stereotype.Service;
+import sda.academy.restdemo.dto.TokenResponse;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+@Service
+public class TokenService {
+    @Autowired
+    private JwtEncoder jwtEncoder;
+
+    @Value("${catalog.security.jwt.issuer}")
+    private String issuer;
+
+    @Value("${catalog.security.jwt.ttl}")
+    private Duration ttl;
+
+    public TokenResponse issue(Authentication authentication) {
+        Instant now = Instant.now();
+        List<String> roles = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .filter(authority -> authority.startsWith("ROLE_"))
+                .map(authority -> authority.substring("ROLE_".length()))
+                .toList();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .issuer(issuer)
+                .subject(authentication.getName())
+                .issuedAt(now)
+                .expiresAt(now.plus(ttl))
+                .claim(JwtConfig.ROLES_CLAIM, roles)
+                .build();
+        JwsHeader header = JwsHeader.with(MacAlgorithm.HS256).build();
+        String token = jwtEncoder.encode(JwtEncoderParameters.from(header, claims)).getTokenValue();
+        return new TokenResponse(token, ttl.toSeconds());
+    }
+}
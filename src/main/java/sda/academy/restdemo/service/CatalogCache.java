@@ -0,0 +1,45 @@
+package sda.academy.restdemo.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import sda.academy.restdemo.model.Product;
+
+import java.util.Collection;
+
+// Invalidari care nu se pot exprima cu @CacheEvict: produsele din cache au categoria atasata,
+// deci cand o categorie e redenumita sau stearsa trebuie scoase si produsele ei.
+@Component
+public class CatalogCache {
+    public static final String PRODUCTS = "products";
+    public static final String CATEGORIES = "categories";
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    public void evictProducts(Collection<Integer> productIds) {
+        TransactionCallbacks.afterCommit(() -> {
+            org.springframework.cache.Cache products = cacheManager.getCache(PRODUCTS);
+            if (products != null) {
+                productIds.forEach(products::evict);
+            }
+        });
+    }
+
+    public void evictCategoryWithProducts(int categoryId) {
+        TransactionCallbacks.afterCommit(() -> {
+            org.springframework.cache.Cache categories = cacheManager.getCache(CATEGORIES);
+            if (categories != null) {
+                categories.evict(categoryId);
+            }
+            org.springframework.cache.Cache products = cacheManager.getCache(PRODUCTS);
+            if (products != null && products.getNativeCache() instanceof Cache<?, ?> nativeCache) {
+                // parcurg doar ce e in cache (marginit de maximumSize), nu toate produsele categoriei din DB
+                nativeCache.asMap().values().removeIf(value -> value instanceof Product product
+                        && product.getCategory() != null
+                        && product.getCategory().getId() == categoryId);
+            }
+        });
+    }
+}
@@ -0,0 +1,24 @@
+package sda.academy.restdemo.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Versiunea intregului catalog, pentru ETag-ul endpoint-urilor care intorc colectii:
+// orice scriere (produs sau categorie) o incrementeaza dupa commit.
+// Porneste de la momentul pornirii, ca dupa un restart sa nu refolosim ETag-uri deja date clientilor.
+// Contorul e per instanta: cu mai multe instante fiecare are propriile ETag-uri.
+@Component
+public class CatalogVersion {
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+
+    // se citeste INAINTE de a incarca datele: daca o scriere se termina intre timp,
+    // raspunsul primeste ETag-ul vechi si urmatoarea cerere il va reincarca
+    public long current() {
+        return version.get();
+    }
+
+    public void increment() {
+        TransactionCallbacks.afterCommit(version::incrementAndGet);
+    }
+}
@@ -0,0 +1,199 @@
+package sda.academy.restdemo.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import sda.academy.restdemo.exception.CategoryNotFoundException;
+import sda.academy.restdemo.model.CategoryRemovalJob;
+import sda.academy.restdemo.model.ChangeLogEntry;
+import sda.academy.restdemo.repository.CategoryRemovalJobRepository;
+import sda.academy.restdemo.repository.CategoryRepository;
+import sda.academy.restdemo.repository.ProductRepository;
+
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+// Stergerea unei categorii fara un singur UPDATE peste toate produsele ei: produsele sunt mutate
+// (category_id = NULL sau alta categorie) in bucati mici, fiecare in tranzactia ei, pe un thread din fundal.
+// Progresul se salveaza in CategoryRemovalJob odata cu fiecare bucata; la pornire joburile neterminate sunt reluate.
+@Service
+public class CategoryRemovalService {
+    private static final Logger log = LoggerFactory.getLogger(CategoryRemovalService.class);
+    private static final Set<CategoryRemovalJob.Status> ACTIVE =
+            EnumSet.of(CategoryRemovalJob.Status.PENDING, CategoryRemovalJob.Status.RUNNING);
+    // de cate ori reincerc stergerea categoriei daca intre timp au aparut produse noi in ea (FK)
+    private static final int MAX_DELETE_ATTEMPTS = 3;
+
+    @Autowired
+    private CategoryRemovalJobRepository jobRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CatalogCache catalogCache;
+
+    @Autowired
+    private CatalogVersion catalogVersion;
+
+    @Autowired
+    private ChangeLogService changeLogService;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private TaskExecutor taskExecutor;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${catalog.category-removal.chunk-size:1000}")
+    private int chunkSize;
+
+    public CategoryRemovalJob start(int categoryId, Integer targetCategoryId) {
+        if (!categoryRepository.existsById(categoryId)) {
+            throw new CategoryNotFoundException("Category with id " + categoryId + " not found");
+        }
+        if (targetCategoryId != null) {
+            if (targetCategoryId == categoryId) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Target category must differ from the removed one");
+            }
+            if (!categoryRepository.existsById(targetCategoryId)) {
+                throw new CategoryNotFoundException("Category with id " + targetCategoryId + " not found");
+            }
+        }
+        if (jobRepository.existsByCategoryIdAndStatusIn(categoryId, ACTIVE)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Category " + categoryId + " is already being removed");
+        }
+
+        CategoryRemovalJob job = new CategoryRemovalJob();
+        job.setCategoryId(categoryId);
+        job.setTargetCategoryId(targetCategoryId);
+        job.setStatus(CategoryRemovalJob.Status.PENDING);
+        job.setProductsTotal(productRepository.countByCategoryId(categoryId));
+        job.setCreatedAt(Instant.now());
+        job.setUpdatedAt(job.getCreatedAt());
+        CategoryRemovalJob saved;
+        try {
+            saved = jobRepository.save(job);
+        } catch (DataIntegrityViolationException e) {
+            // alt POST pentru aceeasi categorie a trecut de verificarea de mai sus in acelasi timp;
+            // indexul unic pe joburile active (V3__single_active_removal_job.sql) lasa sa treaca doar unul
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Category " + categoryId + " is already being removed");
+        }
+
+        submit(saved.getId());
+        return saved;
+    }
+
+    public CategoryRemovalJob getJob(long jobId) {
+        return jobRepository.findById(jobId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Job " + jobId + " not found"));
+    }
+
+    // joburi PENDING/RUNNING ramase dintr-o rulare anterioara (crash, restart)
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinishedJobs() {
+        List<CategoryRemovalJob> unfinished = jobRepository.findByStatusInOrderById(ACTIVE);
+        for (CategoryRemovalJob job : unfinished) {
+            log.info("Resuming category removal job {} for category {} at product id {}",
+                    job.getId(), job.getCategoryId(), job.getLastProductId());
+            submit(job.getId());
+        }
+    }
+
+    private void submit(long jobId) {
+        taskExecutor.execute(() -> run(jobId));
+    }
+
+    private void run(long jobId) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        int deleteAttempts = 0;
+        try {
+            while (true) {
+                try {
+                    if (!Boolean.TRUE.equals(transaction.execute(status -> step(jobId)))) {
+                        return;
+                    }
+                } catch (DataIntegrityViolationException e) {
+                    // au aparut produse noi in categorie intre ultima bucata si DELETE: le mut si pe ele
+                    if (++deleteAttempts >= MAX_DELETE_ATTEMPTS) {
+                        throw e;
+                    }
+                }
+            }
+        } catch (OptimisticLockingFailureException e) {
+            log.info("Category removal job {} is processed by another runner", jobId);
+        } catch (RuntimeException e) {
+            log.error("Category removal job {} failed", jobId, e);
+            transaction.executeWithoutResult(status -> jobRepository.findById(jobId).ifPresent(job -> {
+                job.setStatus(CategoryRemovalJob.Status.FAILED);
+                job.setError(abbreviate(String.valueOf(e.getMessage())));
+                job.setUpdatedAt(Instant.now());
+            }));
+        }
+    }
+
+    // O bucata: urmatoarele chunkSize produse dupa checkpoint, mutate cu un singur UPDATE,
+    // plus checkpoint-ul nou - totul in aceeasi tranzactie scurta. Intoarce false cand jobul s-a terminat.
+    private boolean step(long jobId) {
+        CategoryRemovalJob job = jobRepository.findById(jobId).orElse(null);
+        if (job == null || job.getStatus().isFinished()) {
+            return false;
+        }
+        job.setStatus(CategoryRemovalJob.Status.RUNNING);
+        job.setUpdatedAt(Instant.now());
+
+        int categoryId = job.getCategoryId();
+        List<Integer> ids = productRepository.findIdsByCategory(categoryId, job.getLastProductId(),
+                PageRequest.of(0, chunkSize));
+        if (ids.isEmpty()) {
+            if (job.getLastProductId() != Integer.MIN_VALUE) {
+                // o ultima trecere de la inceput: produse adaugate in categorie cu id mai mic decat checkpoint-ul
+                job.setLastProductId(Integer.MIN_VALUE);
+                return true;
+            }
+            if (categoryRepository.existsById(categoryId)) {
+                categoryRepository.deleteById(categoryId);
+                categoryRepository.flush(); // FK-ul se verifica aici, nu abia la commit
+            }
+            job.setStatus(CategoryRemovalJob.Status.COMPLETED);
+            catalogCache.evictCategoryWithProducts(categoryId);
+            catalogVersion.increment();
+            changeLogService.record(ChangeLogEntry.Type.CATEGORY_DELETED, categoryId);
+            return false;
+        }
+
+        int moved = job.getTargetCategoryId() == null
+                ? productRepository.clearCategory(ids, categoryId)
+                : productRepository.moveToCategory(ids, categoryId,
+                        categoryRepository.getReferenceById(job.getTargetCategoryId()));
+        job.setProductsMoved(job.getProductsMoved() + moved);
+        job.setLastProductId(ids.get(ids.size() - 1));
+        catalogCache.evictProducts(ids);
+        catalogVersion.increment();
+        changeLogService.record(ChangeLogEntry.Type.PRODUCT_CATEGORY_CHANGED, ids, job.getTargetCategoryId());
+        return true;
+    }
+
+    private static String abbreviate(String message) {
+        return message.length() <= 500 ? message : message.substring(0, 500);
+    }
+}
@@ -1,17 +1,26 @@
 package sda.academy.restdemo.service;
 
+import sda.academy.restdemo.config.ReadWriteRoutingDataSource;
+import sda.academy.restdemo.dto.CategoryOption;
+import sda.academy.restdemo.dto.CategorySummary;
 import sda.academy.restdemo.exception.CategoryNotFoundException;
 import sda.academy.restdemo.model.Category;
+import sda.academy.restdemo.model.ChangeLogEntry;
 import sda.academy.restdemo.repository.CategoryRepository;
 import sda.academy.restdemo.repository.ProductRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 
 @Service
-
+@Timed(value = "catalog.service", histogram = true)
 public class CategoryService {
     @Autowired
     private CategoryRepository categoryRepository;
@@ -19,21 +28,67 @@ public class CategoryService {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private CatalogCache catalogCache;
+
+    @Autowired
+    private CatalogVersion catalogVersion;
+
+    @Autowired
+    private ChangeLogService changeLogService;
+
+    // doar categoriile (id, nume) - pentru view-uri, unde lista de produse nu e folosita
+    @Transactional(readOnly = true)
     public List<Category> getAllCategories() {
         return categoryRepository.findAll();
     }
 
+    // categoriile impreuna cu produsele lor, incarcate intr-o singura interogare (pentru REST)
+    @Transactional(readOnly = true)
+    public List<Category> getAllCategoriesWithProducts() {
+        return categoryRepository.findAllWithProducts();
+    }
+
+    @Transactional(readOnly = true)
+    public List<CategorySummary> getCategorySummaries() {
+        return categoryRepository.findAllSummaries();
+    }
+
+    @Transactional(readOnly = true)
+    public Page<CategorySummary> getCategorySummaryPage(int page, int size) {
+        return categoryRepository.findSummaryPage(PageRequest.of(page, size));
+    }
+
+    // pentru formularul de adaugare produs: doar (id, nume)
+    @Transactional(readOnly = true)
+    public List<CategoryOption> getCategoryOptions() {
+        return categoryRepository.findAllOptions();
+    }
+
+    // ca la getProductById: rezultatul ajunge in cache, deci se citeste de pe primary
+    @Cacheable(cacheNames = CatalogCache.CATEGORIES, key = "#id")
     @Transactional(readOnly = true)
     public Category getCategoryById(int id) {
-        return categoryRepository.findById(id)
+        return ReadWriteRoutingDataSource.onPrimary(() -> categoryRepository.findById(id))
                 .orElseThrow(() -> new
                         CategoryNotFoundException("Category with id " + id + " not found" ));
     }
 
+    // pentru If-None-Match pe /api/categories/{id}
+    @Transactional(readOnly = true)
+    public Optional<Long> getCategoryVersion(int id) {
+        return categoryRepository.findVersionById(id);
+    }
+
+    @Transactional
     public Category addCategory(Category category) {
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        catalogVersion.increment();
+        changeLogService.record(ChangeLogEntry.Type.CATEGORY_UPSERTED, saved.getId());
+        return saved;
     }
 
+    @Transactional
     public Category updateCategory(int id, Category updatedCategory) {
 
 
@@ -42,20 +97,33 @@ public class CategoryService {
                         new CategoryNotFoundException("Category with id " + id + " not found" ));
 
             existingCategory.setName(updatedCategory.getName());
-            return categoryRepository.save(existingCategory);
+            Category saved = categoryRepository.save(existingCategory);
+            catalogCache.evictCategoryWithProducts(id);
+            catalogVersion.increment();
+            changeLogService.record(ChangeLogEntry.Type.CATEGORY_UPSERTED, id);
+            return saved;
     }
 
+    @Transactional
     public Boolean deleteCategory(int id) {
         if(categoryRepository.existsById(id)) {
             categoryRepository.deleteById(id);
+            catalogCache.evictCategoryWithProducts(id); // FK-ul poate pune category_id = NULL (vezi README2)
+            catalogVersion.increment();
+            changeLogService.record(ChangeLogEntry.Type.CATEGORY_DELETED, id);
             return true;
         }
         return false;
     }
 
+    // un singur UPDATE peste toate produsele categoriei; pentru categorii mari foloseste CategoryRemovalService
     @Transactional
     public void deleteCategoryAndKeepProducts(Integer catId){
         int n = productRepository.clearCategoryByCategoryID(catId); // seteaza category_id = NULL
+        changeLogService.record(ChangeLogEntry.Type.CATEGORY_CLEARED, catId);
         categoryRepository.deleteById(catId);
+        changeLogService.record(ChangeLogEntry.Type.CATEGORY_DELETED, catId);
+        catalogCache.evictCategoryWithProducts(catId);
+        catalogVersion.increment();
     }
 }
@@ -0,0 +1,193 @@
+package sda.academy.restdemo.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import sda.academy.restdemo.model.ChangeLogEntry;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Server-Sent Events pentru change log. Intrarile noi sunt citite din baza de date periodic (o interogare
+// pe interval pentru toti clientii la zi, indiferent cati sunt conectati), deci se vad si scrierile facute
+// de alte instante. Fiecare client are propriul seq, trimis ca id-ul evenimentului (Last-Event-ID la reconectare).
+// Scrierile pe socket se fac pe un virtual thread per livrare, nu pe thread-ul scheduler-ului: un client blocat
+// nu intarzie poll-ul pentru ceilalti. Un client are cel mult o livrare in curs; pana se termina e sarit
+// la poll, iar la urmatorul poll continua de la lastSeq-ul lui.
+@Lazy(false)
+@Component
+public class ChangeFeedPublisher {
+    private static final int BATCH_SIZE = 500;
+    // comentariu SSE trimis periodic, ca proxy-urile sa nu inchida conexiunea si sa aflam de clientii plecati
+    private static final long HEARTBEAT_MILLIS = 15_000;
+
+    @Autowired
+    private ChangeLogService changeLogService;
+
+    @Value("${catalog.changes.sse-timeout-ms}")
+    private long timeoutMillis;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private volatile long lastHeartbeat = System.currentTimeMillis();
+    private Executor sendExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public SseEmitter subscribe(long since) {
+        // verifica compactarea inainte de a deschide stream-ul (410 ca raspuns normal, nu ca eveniment)
+        List<ChangeLogEntry> backlog = changeLogService.entriesAfter(since, BATCH_SIZE);
+
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, since);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+
+        // restul backlog-ului (daca e mai mare de un batch) vine la urmatoarele poll-uri
+        subscriber.send(backlog);
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.changes.poll-interval-ms}")
+    public void poll() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        // o interogare per cursor distinct: clientii la zi au acelasi lastSeq si impart interogarea de la head,
+        // iar un client care recupereaza un backlog vechi nu le mai intarzie livrarea
+        Map<Long, List<Subscriber>> byCursor = new TreeMap<>();
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.busy()) {
+                byCursor.computeIfAbsent(subscriber.lastSeq, seq -> new ArrayList<>()).add(subscriber);
+            }
+        }
+        for (Map.Entry<Long, List<Subscriber>> cursor : byCursor.entrySet()) {
+            List<ChangeLogEntry> entries;
+            try {
+                entries = changeLogService.entriesAfter(cursor.getKey(), BATCH_SIZE);
+            } catch (ResponseStatusException e) {
+                // doar clientii ramasi in spatele compactarii trebuie sa reincarce catalogul
+                for (Subscriber subscriber : cursor.getValue()) {
+                    subscribers.remove(subscriber);
+                    deliver(subscriber, () -> {
+                        subscriber.gone();
+                        return false;
+                    });
+                }
+                continue;
+            }
+            if (entries.isEmpty()) {
+                continue;
+            }
+            for (Subscriber subscriber : cursor.getValue()) {
+                deliver(subscriber, () -> subscriber.send(entries));
+            }
+        }
+        if (System.currentTimeMillis() - lastHeartbeat >= HEARTBEAT_MILLIS) {
+            // un client ocupat primeste deja date, nu are nevoie de heartbeat
+            for (Subscriber subscriber : subscribers) {
+                if (!subscriber.busy()) {
+                    deliver(subscriber, subscriber::heartbeat);
+                }
+            }
+            lastHeartbeat = System.currentTimeMillis();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (sendExecutor instanceof ExecutorService executor) {
+            executor.shutdownNow();
+        }
+    }
+
+    // livrarea intoarce false cand clientul nu mai trebuie pastrat in lista
+    private void deliver(Subscriber subscriber, Delivery delivery) {
+        subscriber.inFlight.set(true);
+        try {
+            sendExecutor.execute(() -> {
+                try {
+                    if (!delivery.run()) {
+                        subscribers.remove(subscriber);
+                    }
+                } finally {
+                    subscriber.inFlight.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // aplicatia se opreste
+            subscriber.inFlight.set(false);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Delivery {
+        boolean run();
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final AtomicBoolean inFlight = new AtomicBoolean();
+        private volatile long lastSeq;
+
+        private Subscriber(SseEmitter emitter, long since) {
+            this.emitter = emitter;
+            this.lastSeq = since;
+        }
+
+        private boolean busy() {
+            return inFlight.get();
+        }
+
+        // doar intrarile pe care clientul nu le-a primit inca
+        private synchronized boolean send(List<ChangeLogEntry> entries) {
+            try {
+                for (ChangeLogEntry entry : entries) {
+                    if (entry.getSeq() > lastSeq) {
+                        emitter.send(SseEmitter.event()
+                                .id(Long.toString(entry.getSeq()))
+                                .name("change")
+                                .data(entry));
+                        lastSeq = entry.getSeq();
+                    }
+                }
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e);
+                return false;
+            }
+        }
+
+        private synchronized void gone() {
+            try {
+                emitter.send(SseEmitter.event().name("gone").data("reload the catalog"));
+                emitter.complete();
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e);
+            }
+        }
+
+        private synchronized boolean heartbeat() {
+            try {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e);
+                return false;
+            }
+        }
+    }
+}
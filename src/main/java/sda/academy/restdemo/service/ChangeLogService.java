@@ -0,0 +1,221 @@
+package sda.academy.restdemo.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import sda.academy.restdemo.dto.CategoryOption;
+import sda.academy.restdemo.dto.ChangeFeed;
+import sda.academy.restdemo.model.ChangeLogCounter;
+import sda.academy.restdemo.model.ChangeLogEntry;
+import sda.academy.restdemo.model.Product;
+import sda.academy.restdemo.repository.CategoryRepository;
+import sda.academy.restdemo.repository.ChangeLogRepository;
+import sda.academy.restdemo.repository.ProductRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Change log pentru sincronizare incrementala: fiecare scriere pe produse/categorii adauga o intrare.
+// Intrarile sunt adunate pe durata tranzactiei si scrise in beforeCommit, dupa ce s-a incrementat
+// contorul: lock-ul pe randul contorului e tinut doar de la beforeCommit pana la commit, iar secventele
+// ies in ordinea commit-urilor (fara goluri).
+@Lazy(false)
+@Service
+public class ChangeLogService implements SmartInitializingSingleton {
+    private static final Logger log = LoggerFactory.getLogger(ChangeLogService.class);
+    public static final int MAX_FEED_SIZE = 1000;
+    private static final int IDS_PER_ENTRY = 500;
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${catalog.changes.retention}")
+    private Duration retention;
+
+    // randul contorului trebuie sa existe inainte de prima scriere
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                if (entityManager.find(ChangeLogCounter.class, ChangeLogCounter.ID) == null) {
+                    ChangeLogCounter counter = new ChangeLogCounter();
+                    counter.setId(ChangeLogCounter.ID);
+                    entityManager.persist(counter);
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            // alta instanta l-a creat in acelasi timp
+        }
+    }
+
+    public void record(ChangeLogEntry.Type type, Collection<Integer> ids, Integer categoryId) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<PendingChange> changes = new ArrayList<>();
+        List<Integer> all = new ArrayList<>(ids);
+        // cel mult IDS_PER_ENTRY id-uri pe intrare, ca lista sa incapa in coloana entityIds
+        for (int from = 0; from < all.size(); from += IDS_PER_ENTRY) {
+            String entityIds = all.subList(from, Math.min(from + IDS_PER_ENTRY, all.size())).stream()
+                    .map(String::valueOf)
+                    .collect(Collectors.joining(","));
+            changes.add(new PendingChange(type, entityIds, categoryId));
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> append(changes));
+            return;
+        }
+        pendingChanges().addAll(changes);
+    }
+
+    public void record(ChangeLogEntry.Type type, int id) {
+        record(type, List.of(id), null);
+    }
+
+    // lista tranzactiei curente; sincronizarile sunt suspendate de REQUIRES_NEW, deci fiecare tranzactie o are pe a ei
+    private List<PendingChange> pendingChanges() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingChanges pending) {
+                return pending.changes;
+            }
+        }
+        PendingChanges pending = new PendingChanges();
+        TransactionSynchronizationManager.registerSynchronization(pending);
+        return pending.changes;
+    }
+
+    private void append(List<PendingChange> changes) {
+        entityManager.createQuery("update ChangeLogCounter c set c.lastSeq = c.lastSeq + :count where c.id = :id")
+                .setParameter("count", (long) changes.size())
+                .setParameter("id", ChangeLogCounter.ID)
+                .executeUpdate();
+        long last = entityManager.createQuery("select c.lastSeq from ChangeLogCounter c where c.id = :id", Long.class)
+                .setParameter("id", ChangeLogCounter.ID)
+                .getSingleResult();
+
+        long seq = last - changes.size();
+        Instant now = Instant.now();
+        for (PendingChange change : changes) {
+            ChangeLogEntry entry = new ChangeLogEntry();
+            entry.setSeq(++seq);
+            entry.setType(change.type());
+            entry.setEntityIds(change.entityIds());
+            entry.setCategoryId(change.categoryId());
+            entry.setCreatedAt(now);
+            entityManager.persist(entry);
+        }
+        entityManager.flush();
+    }
+
+    public long head() {
+        Long head = changeLogRepository.findHeadSeq();
+        return head == null ? 0 : head;
+    }
+
+    // 410 daca intre `since` si cea mai veche intrare pastrata au existat intrari deja compactate:
+    // clientul trebuie sa reincarce catalogul si sa continue de la head
+    @Transactional(readOnly = true)
+    public List<ChangeLogEntry> entriesAfter(long since, int limit) {
+        Long oldest = changeLogRepository.findOldestSeq();
+        long firstAvailable = oldest != null ? oldest : head() + 1;
+        if (since < firstAvailable - 1) {
+            throw new ResponseStatusException(HttpStatus.GONE,
+                    "Changes up to seq " + (firstAvailable - 1) + " were compacted, reload the catalog");
+        }
+        return changeLogRepository.findAfter(since, PageRequest.of(0, limit));
+    }
+
+    @Transactional(readOnly = true)
+    public ChangeFeed getChanges(long since, int limit) {
+        if (limit < 1 || limit > MAX_FEED_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_FEED_SIZE);
+        }
+        List<ChangeLogEntry> rows = entriesAfter(since, limit + 1);
+        boolean hasMore = rows.size() > limit;
+        List<ChangeLogEntry> changes = hasMore ? rows.subList(0, limit) : rows;
+
+        // starea curenta a entitatilor atinse, cate o interogare pentru produse si una pentru categorii
+        Set<Integer> productIds = new LinkedHashSet<>();
+        Set<Integer> categoryIds = new LinkedHashSet<>();
+        for (ChangeLogEntry change : changes) {
+            switch (change.getType()) {
+                case PRODUCT_UPSERTED, PRODUCT_CATEGORY_CHANGED -> productIds.addAll(ids(change));
+                case CATEGORY_UPSERTED -> categoryIds.addAll(ids(change));
+                default -> {
+                }
+            }
+        }
+        List<Product> products = productIds.isEmpty() ? List.of() : productRepository.findByIdInOrderById(productIds);
+        List<CategoryOption> categories = categoryIds.isEmpty() ? List.of() : categoryRepository.findOptionsByIdIn(categoryIds);
+
+        long nextSince = changes.isEmpty() ? Math.max(since, 0) : changes.get(changes.size() - 1).getSeq();
+        return new ChangeFeed(new ArrayList<>(changes), products, categories, nextSince, hasMore);
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.changes.compaction-interval-ms}",
+            initialDelayString = "${catalog.changes.compaction-interval-ms}")
+    public void compact() {
+        compactBefore(Instant.now().minus(retention));
+    }
+
+    public int compactBefore(Instant cutoff) {
+        int deleted = changeLogRepository.deleteOlderThan(cutoff);
+        if (deleted > 0) {
+            log.info("Compacted {} change log entries created before {}", deleted, cutoff);
+        }
+        return deleted;
+    }
+
+    private static List<Integer> ids(ChangeLogEntry change) {
+        return Arrays.stream(change.getEntityIds().split(",")).map(Integer::valueOf).toList();
+    }
+
+    private record PendingChange(ChangeLogEntry.Type type, String entityIds, Integer categoryId) {
+    }
+
+    private class PendingChanges implements TransactionSynchronization {
+        private final List<PendingChange> changes = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (!changes.isEmpty()) {
+                append(changes);
+            }
+        }
+    }
+}
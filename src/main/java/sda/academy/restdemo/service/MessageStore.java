@@ -0,0 +1,82 @@
+package sda.academy.restdemo.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import sda.academy.restdemo.model.Message;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Inlocuieste HashMap-ul din MessageController, care era modificat de toate thread-urile Tomcat in acelasi timp.
+// Caffeine tine intrarile intr-un ConcurrentHashMap (citiri fara lock, scrieri pe bucket), are capacitate
+// maxima si expira fiecare mesaj dupa ttl de la ultima scriere. Expirarea e programata pe thread-ul
+// de fundal al Scheduler-ului, deci memoria se elibereaza si daca nimeni nu mai citeste.
+@Component
+public class MessageStore {
+    private final Cache<Integer, Message> cache;
+    private final ConcurrentMap<Integer, Message> messages;
+    private final AtomicInteger nextId = new AtomicInteger();
+
+    @Autowired
+    public MessageStore(@Value("${message.store.capacity:10000}") long capacity,
+                        @Value("${message.store.ttl-seconds:3600}") long ttlSeconds) {
+        this(capacity, Duration.ofSeconds(ttlSeconds), Ticker.systemTicker());
+    }
+
+    MessageStore(long capacity, Duration ttl, Ticker ticker) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(capacity)
+                .expireAfterWrite(ttl)
+                .scheduler(Scheduler.systemScheduler())
+                .ticker(ticker)
+                .build();
+        this.messages = cache.asMap();
+    }
+
+    public List<Message> findAll() {
+        return new ArrayList<>(messages.values());
+    }
+
+    public Message findById(int id) {
+        return messages.get(id);
+    }
+
+    // id <= 0 -> id generat pe server; altfel false daca id-ul exista deja
+    public boolean addMessage(Message message) {
+        if (message.getId() > 0) {
+            return messages.putIfAbsent(message.getId(), message) == null;
+        }
+        while (true) {
+            int id = nextId.incrementAndGet();
+            message.setId(id);
+            if (messages.putIfAbsent(id, message) == null) {
+                return true;
+            }
+            // id-ul fusese ales explicit de un client, incerc urmatorul
+        }
+    }
+
+    // null daca mesajul nu exista
+    public Message updateMessage(int id, Message message) {
+        message.setId(id);
+        return messages.replace(id, message) == null ? null : message;
+    }
+
+    // mesajul sters sau null daca nu exista
+    public Message deleteMessage(int id) {
+        return messages.remove(id);
+    }
+
+    public long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+}
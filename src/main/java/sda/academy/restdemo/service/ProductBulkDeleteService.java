@@ -0,0 +1,108 @@
+package sda.academy.restdemo.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import sda.academy.restdemo.dto.BulkDeleteRequest;
+import sda.academy.restdemo.dto.BulkDeleteResult;
+import sda.academy.restdemo.model.ChangeLogEntry;
+import sda.academy.restdemo.repository.ProductRepository;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeSet;
+
+// Stergere in bloc: cate un DELETE ... WHERE id IN (...) pe bucata, fiecare bucata in tranzactia ei,
+// ca lock-urile sa fie tinute putin si o stergere mare sa nu blocheze restul aplicatiei.
+// Daca o bucata esueaza, cele de dinainte raman sterse (stergerea se poate relua, e idempotenta).
+@Service
+public class ProductBulkDeleteService {
+    // sub limita de 1000 de elemente in IN (...) a unor baze de date
+    private static final int CHUNK_SIZE = 500;
+    public static final int MAX_IDS = 10_000;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    private CatalogCache catalogCache;
+
+    @Autowired
+    private CatalogVersion catalogVersion;
+
+    @Autowired
+    private ChangeLogService changeLogService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    public BulkDeleteResult deleteProducts(BulkDeleteRequest request) {
+        if (request == null || request.hasIds() == request.hasFilter()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Send either 'ids' or a filter ('categoryId' and/or 'priceBelow'), not both");
+        }
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        int deleted = request.hasIds()
+                ? deleteByIds(request.getIds(), transaction)
+                : deleteByFilter(request.getCategoryId(), request.getPriceBelow(), transaction);
+        return new BulkDeleteResult(deleted);
+    }
+
+    private int deleteByIds(List<Integer> ids, TransactionTemplate transaction) {
+        if (ids.size() > MAX_IDS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + MAX_IDS + " ids per request");
+        }
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "'ids' must not contain null");
+        }
+        List<Integer> unique = new TreeSet<>(ids).stream().toList();
+        int deleted = 0;
+        for (int from = 0; from < unique.size(); from += CHUNK_SIZE) {
+            List<Integer> chunk = unique.subList(from, Math.min(from + CHUNK_SIZE, unique.size()));
+            deleted += transaction.execute(status -> deleteChunk(chunk));
+        }
+        return deleted;
+    }
+
+    // id-urile se citesc pe bucati (keyset pe id), iar fiecare bucata e stearsa in aceeasi tranzactie
+    private int deleteByFilter(Integer categoryId, Double priceBelow, TransactionTemplate transaction) {
+        int deleted = 0;
+        int afterId = Integer.MIN_VALUE;
+        while (true) {
+            int from = afterId;
+            DeletedChunk chunk = transaction.execute(status -> {
+                List<Integer> ids = productRepository.findIdsForDeletion(categoryId, priceBelow, from,
+                        PageRequest.of(0, CHUNK_SIZE));
+                return ids.isEmpty() ? null : new DeletedChunk(ids.get(ids.size() - 1), deleteChunk(ids));
+            });
+            if (chunk == null) {
+                return deleted;
+            }
+            deleted += chunk.deleted();
+            afterId = chunk.lastId();
+        }
+    }
+
+    // versiunea catalogului creste la commit-ul fiecarei bucati: daca o bucata ulterioara esueaza,
+    // ETag-urile si fragmentele din cache nu mai arata produsele deja sterse
+    private int deleteChunk(List<Integer> ids) {
+        int deleted = productRepository.deleteByIdIn(ids);
+        catalogCache.evictProducts(ids);
+        productSearchIndex.removeAll(ids);
+        changeLogService.record(ChangeLogEntry.Type.PRODUCT_DELETED, ids, null);
+        if (deleted > 0) {
+            catalogVersion.increment();
+        }
+        return deleted;
+    }
+
+    private record DeletedChunk(int lastId, int deleted) {
+    }
+}
@@ -0,0 +1,67 @@
+package sda.academy.restdemo.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import sda.academy.restdemo.model.Product;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Cursor opac pentru keyset pagination: retine sortarea, valoarea cheii de sortare
+// si id-ul ultimului produs trimis. Clientul il primeste ca Base64 si il trimite inapoi in ?after=
+final class ProductCursor {
+    private final ProductSort sort;
+    private final int id;
+    private final String value;
+
+    private ProductCursor(ProductSort sort, int id, String value) {
+        this.sort = sort;
+        this.id = id;
+        this.value = value;
+    }
+
+    static ProductCursor after(ProductSort sort, Product last) {
+        String value = switch (sort) {
+            case ID -> "";
+            case PRICE -> Double.toString(last.getPrice());
+            case NAME -> last.getName();
+        };
+        return new ProductCursor(sort, last.getId(), value);
+    }
+
+    static ProductCursor decode(String token, ProductSort expectedSort) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // valoarea e ultima, ca sa poata contine ':' (ex. in nume)
+            String[] parts = raw.split(":", 3);
+            ProductSort sort = ProductSort.valueOf(parts[0]);
+            if (sort != expectedSort) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor was issued for sort " + sort.name().toLowerCase());
+            }
+            ProductCursor cursor = new ProductCursor(sort, Integer.parseInt(parts[1]), parts[2]);
+            if (sort == ProductSort.PRICE) {
+                cursor.price();
+            }
+            return cursor;
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    String encode() {
+        String raw = sort.name() + ":" + id + ":" + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    int id() {
+        return id;
+    }
+
+    double price() {
+        return Double.parseDouble(value);
+    }
+
+    String name() {
+        return value;
+    }
+}
@@ -0,0 +1,89 @@
+package sda.academy.restdemo.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import sda.academy.restdemo.model.Category;
+import sda.academy.restdemo.model.Product;
+import sda.academy.restdemo.repository.ProductRepository;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+public class ProductExportService {
+    private static final int FLUSH_EVERY = 500;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Scrie tot catalogul rand cu rand, fara sa construiasca vreo lista in memorie.
+    // Fiecare produs e scos din persistence context dupa ce a fost scris, deci heap-ul ramane constant.
+    @Transactional(readOnly = true)
+    public long export(ExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            writer.write("id,name,price,category_id,category_name\n");
+        }
+
+        long count = 0;
+        try (Stream<Product> products = productRepository.streamAllForExport()) {
+            Iterator<Product> iterator = products.iterator();
+            while (iterator.hasNext()) {
+                Product product = iterator.next();
+                if (format == ExportFormat.NDJSON) {
+                    writer.write(objectMapper.writeValueAsString(product));
+                    writer.write('\n');
+                } else {
+                    writeCsvRow(writer, product);
+                }
+                entityManager.detach(product);
+
+                if (++count % FLUSH_EVERY == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush(); // nu inchid stream-ul, il inchide containerul
+        return count;
+    }
+
+    private void writeCsvRow(Writer writer, Product product) throws IOException {
+        Category category = product.getCategory();
+        writer.write(Integer.toString(product.getId()));
+        writer.write(',');
+        writer.write(csv(product.getName()));
+        writer.write(',');
+        writer.write(Double.toString(product.getPrice()));
+        writer.write(',');
+        writer.write(category == null ? "" : Integer.toString(category.getId()));
+        writer.write(',');
+        writer.write(category == null ? "" : csv(category.getName()));
+        writer.write('\n');
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,177 @@
+package sda.academy.restdemo.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sda.academy.restdemo.dto.BulkImportResult;
+import sda.academy.restdemo.model.Category;
+import sda.academy.restdemo.model.ChangeLogEntry;
+import sda.academy.restdemo.model.Product;
+import sda.academy.restdemo.repository.CategoryRepository;
+import sda.academy.restdemo.repository.ProductRepository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+public class ProductImportService {
+    // acelasi ordin de marime ca hibernate.jdbc.batch_size, ca un chunk sa plece in cateva batch-uri
+    private static final int CHUNK_SIZE = 500;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    private CatalogVersion catalogVersion;
+
+    @Autowired
+    private ChangeLogService changeLogService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Accepta fie un array JSON, fie NDJSON (un produs pe linie) - Jackson le citeste pe amandoua ca secventa.
+    // Randurile sunt procesate in chunk-uri: o singura interogare pentru categoriile din chunk,
+    // apoi insert-uri in batch JDBC si clear() pe persistence context ca memoria sa nu creasca.
+    // Fiecare chunk are tranzactia lui (ca la stergerea in masa): daca un chunk esueaza,
+    // cele de dinainte raman importate.
+    public BulkImportResult importProducts(InputStream body) throws IOException {
+        BulkImportResult result = new BulkImportResult();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        List<PendingRow> chunk = new ArrayList<>(CHUNK_SIZE);
+        int row = 0;
+
+        try (MappingIterator<Product> rows = objectMapper.readerFor(Product.class).readValues(body)) {
+            while (true) {
+                Product product;
+                try {
+                    if (!rows.hasNextValue()) {
+                        break;
+                    }
+                } catch (JsonProcessingException e) {
+                    result.addError(row, "Malformed JSON: " + e.getOriginalMessage());
+                    break; // nu mai pot gasi inceputul urmatorului rand
+                }
+                int index = row++;
+                try {
+                    product = rows.nextValue();
+                } catch (JsonMappingException e) {
+                    // rand cu valori de tip gresit: iteratorul sare la urmatorul rand
+                    result.addError(index, e.getOriginalMessage());
+                    continue;
+                }
+
+                String violation = validate(product);
+                if (violation != null) {
+                    result.addError(index, violation);
+                    continue;
+                }
+
+                product.setId(0); // id-ul il da secventa, nu clientul
+                product.setVersion(0);
+                chunk.add(new PendingRow(index, product));
+                if (chunk.size() == CHUNK_SIZE) {
+                    transaction.executeWithoutResult(status -> saveChunk(chunk, result));
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            transaction.executeWithoutResult(status -> saveChunk(chunk, result));
+        }
+        result.setReceived(row);
+        return result;
+    }
+
+    private String validate(Product product) {
+        if (product == null) {
+            return "Product is required";
+        }
+        Set<ConstraintViolation<Product>> violations = validator.validate(product);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + " : " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+        if (product.getCategory() != null && product.getCategory().getId() <= 0) {
+            return "Category id must be > 0";
+        }
+        return null;
+    }
+
+    private void saveChunk(List<PendingRow> chunk, BulkImportResult result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        Set<Integer> categoryIds = new HashSet<>();
+        for (PendingRow pending : chunk) {
+            if (pending.product().getCategory() != null) {
+                categoryIds.add(pending.product().getCategory().getId());
+            }
+        }
+        Set<Integer> existingIds = categoryIds.isEmpty()
+                ? Set.of()
+                : new HashSet<>(categoryRepository.findExistingIds(categoryIds));
+
+        List<Product> products = new ArrayList<>(chunk.size());
+        for (PendingRow pending : chunk) {
+            Product product = pending.product();
+            Category category = product.getCategory();
+            if (category != null) {
+                if (!existingIds.contains(category.getId())) {
+                    result.addError(pending.row(), "Category with id " + category.getId() + " not found");
+                    continue;
+                }
+                // doar referinta (proxy), fara SELECT pe categorie
+                product.setCategory(categoryRepository.getReferenceById(category.getId()));
+            }
+            products.add(product);
+        }
+
+        if (products.isEmpty()) {
+            return;
+        }
+        productRepository.saveAll(products);
+        entityManager.flush();
+        products.forEach(product -> productSearchIndex.index(product.getId(), product.getName()));
+        changeLogService.record(ChangeLogEntry.Type.PRODUCT_UPSERTED,
+                products.stream().map(Product::getId).toList(), null);
+        entityManager.clear();
+        catalogVersion.increment();
+        result.setImported(result.getImported() + products.size());
+    }
+
+    private record PendingRow(int row, Product product) {
+    }
+}
@@ -0,0 +1,157 @@
+package sda.academy.restdemo.service;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sda.academy.restdemo.dto.ProductName;
+import sda.academy.restdemo.repository.ProductRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+// Index inversat in memorie peste Product.name: token -> id-urile produselor care il contin.
+// Tokenii sunt tinuti sortati, deci un prefix e un interval in TreeMap, nu o parcurgere a tabelei.
+// E construit la pornire (inainte sa porneasca serverul web) si actualizat de ProductService la fiecare scriere,
+// dupa commit: o scriere anulata (rollback) nu lasa in index tokeni care nu exista in DB.
+// Citirile iau read lock-ul in paralel; scrierile (rare) il iau exclusiv, pe durata catorva operatii pe map-uri.
+@Lazy(false)
+@Component
+public class ProductSearchIndex implements SmartInitializingSingleton {
+    private final NavigableMap<String, Set<Integer>> postings = new TreeMap<>();
+    private final Map<Integer, Set<String>> tokensByProduct = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status -> {
+            try (Stream<ProductName> names = productRepository.streamNames()) {
+                names.forEach(product -> apply(product.getId(), product.getName()));
+            }
+        });
+    }
+
+    public void index(int productId, String name) {
+        TransactionCallbacks.afterCommit(() -> apply(productId, name));
+    }
+
+    public void remove(int productId) {
+        removeAll(List.of(productId));
+    }
+
+    public void removeAll(Collection<Integer> productIds) {
+        List<Integer> ids = List.copyOf(productIds);
+        TransactionCallbacks.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                for (Integer productId : ids) {
+                    Set<String> previous = tokensByProduct.remove(productId);
+                    if (previous != null) {
+                        previous.forEach(token -> removePosting(token, productId));
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    // Fiecare cuvant din q trebuie sa fie prefixul unui token din nume ("ipho 15" gaseste "iPhone 15 Pro").
+    // Rezultatul: primele `limit` id-uri, crescator.
+    public List<Integer> search(String query, int limit) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Set<Integer> matches = null;
+            for (String term : terms) {
+                Set<Integer> termMatches = new HashSet<>();
+                for (Set<Integer> ids : postings.subMap(term, true, term + Character.MAX_VALUE, true).values()) {
+                    if (matches == null) {
+                        termMatches.addAll(ids);
+                    } else {
+                        // intersectia directa, fara sa copiez posting-urile mari
+                        for (Integer id : ids) {
+                            if (matches.contains(id)) {
+                                termMatches.add(id);
+                            }
+                        }
+                    }
+                }
+                matches = termMatches;
+                if (matches.isEmpty()) {
+                    return List.of();
+                }
+            }
+            List<Integer> sorted = new ArrayList<>(new TreeSet<>(matches));
+            return sorted.subList(0, Math.min(limit, sorted.size()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void apply(int productId, String name) {
+        Set<String> tokens = new HashSet<>(tokenize(name));
+        lock.writeLock().lock();
+        try {
+            Set<String> previous = tokensByProduct.put(productId, tokens);
+            if (previous != null) {
+                for (String token : previous) {
+                    if (!tokens.contains(token)) {
+                        removePosting(token, productId);
+                    }
+                }
+            }
+            for (String token : tokens) {
+                postings.computeIfAbsent(token, key -> new HashSet<>()).add(productId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removePosting(String token, int productId) {
+        Set<Integer> ids = postings.get(token);
+        if (ids != null) {
+            ids.remove(productId);
+            if (ids.isEmpty()) {
+                postings.remove(token);
+            }
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{Nd}]+"))
+                .filter(token -> !token.isEmpty())
+                .distinct()
+                .toList();
+    }
+}
@@ -1,11 +1,30 @@
 package sda.academy.restdemo.service;
 
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import sda.academy.restdemo.config.ReadWriteRoutingDataSource;
+import sda.academy.restdemo.dto.CategoryFacet;
+import sda.academy.restdemo.dto.ProductFacets;
+import sda.academy.restdemo.dto.ProductFilterResult;
+import sda.academy.restdemo.dto.ProductPage;
+import sda.academy.restdemo.dto.ProductPatch;
+import sda.academy.restdemo.dto.ProductVersion;
+import sda.academy.restdemo.repository.ProductSpecifications;
 import sda.academy.restdemo.exception.CategoryNotFoundException;
 import sda.academy.restdemo.exception.ProductNotFoundException;
 import sda.academy.restdemo.model.Category;
+import sda.academy.restdemo.model.ChangeLogEntry;
 import sda.academy.restdemo.model.Product;
 import sda.academy.restdemo.repository.CategoryRepository;
 import sda.academy.restdemo.repository.ProductRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -13,41 +32,219 @@ import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
+@Timed(value = "catalog.service", histogram = true)
 public class ProductService {
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final int MAX_SEARCH_RESULTS = 100;
+    private static final Set<String> FOREIGN_KEY_SQL_STATES = Set.of("23503", "23506");
+
     @Autowired
     private ProductRepository productRepository;
 
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    // produsul e scos din cache dupa commit, ca un getProductById concurent sa nu puna la loc randul vechi
+    @Autowired
+    private CatalogCache catalogCache;
+
+    @Autowired
+    private CatalogVersion catalogVersion;
+
+    @Autowired
+    private ChangeLogService changeLogService;
+
+    @Transactional(readOnly = true)
     public List<Product> getAllProducts() {
-        return productRepository.findAll();
+        return productRepository.findAllWithCategory();
+    }
+
+    // pentru /view/products: pagina ceruta + numarul total (COUNT)
+    @Transactional(readOnly = true)
+    public Page<Product> getProductViewPage(int page, int size) {
+        return productRepository.findViewPage(PageRequest.of(page, size));
+    }
+
+    @Transactional(readOnly = true)
+    public ProductPage getProductsPage(String after, int limit, String sort) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        ProductSort productSort = ProductSort.from(sort);
+        ProductCursor cursor = after == null || after.isBlank() ? null : ProductCursor.decode(after, productSort);
+
+        // cer un rand in plus ca sa stiu daca exista o pagina urmatoare, fara count(*)
+        PageRequest window = PageRequest.of(0, limit + 1);
+        List<Product> rows = switch (productSort) {
+            case ID -> productRepository.findPageOrderById(cursor == null ? 0 : cursor.id(), window);
+            case PRICE -> cursor == null
+                    ? productRepository.findPageOrderByPrice(-Double.MAX_VALUE, Integer.MIN_VALUE, window)
+                    : productRepository.findPageOrderByPrice(cursor.price(), cursor.id(), window);
+            case NAME -> cursor == null
+                    ? productRepository.findPageOrderByName("", Integer.MIN_VALUE, window)
+                    : productRepository.findPageOrderByName(cursor.name(), cursor.id(), window);
+        };
+
+        if (rows.size() <= limit) {
+            return new ProductPage(rows, null);
+        }
+        List<Product> items = rows.subList(0, limit);
+        return new ProductPage(items, ProductCursor.after(productSort, items.get(limit - 1)).encode());
+    }
+
+    // Produsele care trec filtrele (keyset pe id) + fatetele pe categorii pentru acelasi interval de pret.
+    // Fatetele nu aplica filtrul de categorie, ca sidebar-ul sa arate si celelalte categorii.
+    @Transactional(readOnly = true)
+    public ProductFilterResult filterProducts(Integer categoryId, Double minPrice, Double maxPrice, String after, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (minPrice != null && maxPrice != null && minPrice > maxPrice) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "minPrice must not be greater than maxPrice");
+        }
+        ProductCursor cursor = after == null || after.isBlank() ? null : ProductCursor.decode(after, ProductSort.ID);
+
+        Specification<Product> filter = Specification.where(ProductSpecifications.fetchCategory())
+                .and(ProductSpecifications.inCategory(categoryId))
+                .and(ProductSpecifications.priceAtLeast(minPrice))
+                .and(ProductSpecifications.priceAtMost(maxPrice))
+                .and(ProductSpecifications.idAfter(cursor == null ? null : cursor.id()));
+        List<Product> rows = productRepository.findBy(filter, query -> query.sortBy(Sort.by("id")).limit(limit + 1).all());
+
+        List<Product> items = rows.size() > limit ? rows.subList(0, limit) : rows;
+        String nextCursor = rows.size() > limit ? ProductCursor.after(ProductSort.ID, items.get(limit - 1)).encode() : null;
+        return new ProductFilterResult(items, nextCursor, facets(categoryId, minPrice, maxPrice));
     }
 
+    private ProductFacets facets(Integer categoryId, Double minPrice, Double maxPrice) {
+        List<CategoryFacet> categories = productRepository.findCategoryFacets(
+                minPrice == null ? -Double.MAX_VALUE : minPrice,
+                maxPrice == null ? Double.MAX_VALUE : maxPrice);
+
+        // min/max pret: pentru categoria selectata, altfel peste toate categoriile
+        Double min = null;
+        Double max = null;
+        for (CategoryFacet facet : categories) {
+            if (categoryId != null && !categoryId.equals(facet.getCategoryId())) {
+                continue;
+            }
+            min = min == null ? facet.getMinPrice() : Math.min(min, facet.getMinPrice());
+            max = max == null ? facet.getMaxPrice() : Math.max(max, facet.getMaxPrice());
+        }
+        return new ProductFacets(categories, min, max);
+    }
+
+    // cautare dupa nume din indexul in memorie; din baza de date se citesc doar rezultatele, dupa id
+    @Transactional(readOnly = true)
+    public List<Product> searchProducts(String query, int limit) {
+        if (limit < 1 || limit > MAX_SEARCH_RESULTS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_SEARCH_RESULTS);
+        }
+        List<Integer> ids = productSearchIndex.search(query, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return productRepository.findByIdInOrderById(ids);
+    }
+
+    // pentru If-None-Match: versiunile produsului si categoriei, fara sa incarc produsul
+    @Transactional(readOnly = true)
+    public Optional<ProductVersion> getProductVersion(int id) {
+        return productRepository.findVersionById(id);
+    }
+
+    // rezultatul ajunge in cache, deci se citeste de pe primary chiar daca exista replici
+    @Cacheable(cacheNames = CatalogCache.PRODUCTS, key = "#id")
+    @Transactional(readOnly = true)
     public Product getProductById(int id) {
-        return productRepository.findById(id)
+        return ReadWriteRoutingDataSource.onPrimary(() -> productRepository.findById(id))
                 .orElseThrow(() -> new ProductNotFoundException("Product with id " + id + " not found"));
     }
 
+    @Transactional
     public Product createProduct(Product product) {
         requireProductBody(product); // validare: body-ul requiestului sa nu fie null
         if (product.getCategory() != null) { // daca s-a trimis categorie
             CategoryValidationForProduct(product.getCategory());
         }
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        productSearchIndex.index(saved.getId(), saved.getName());
+        catalogVersion.increment();
+        changeLogService.record(ChangeLogEntry.Type.PRODUCT_UPSERTED, saved.getId());
+        return saved;
     }
 
+    // campurile se copiaza pe entitatea incarcata: @Version ramane cel din DB,
+    // iar un body fara "version" nu mai e tratat ca o modificare concurenta
+    @Transactional
     public Optional<Product> updateProduct(Integer id, Product product) {
         requireProductBody(product);
-        if(productRepository.existsById(id)) {
-            CategoryValidationForProduct(product.getCategory());
-            product.setId(id);
-            Product updatedProduct = productRepository.save(product);
-            return Optional.of(updatedProduct);
+        Optional<Product> existing = productRepository.findById(id);
+        if (existing.isEmpty()) {
+            return Optional.empty();
         }
-        return Optional.empty();
+        CategoryValidationForProduct(product.getCategory());
+        Product updatedProduct = existing.get();
+        updatedProduct.setName(product.getName());
+        updatedProduct.setPrice(product.getPrice());
+        // categoria e deja in persistence context dupa validare, deci getReferenceById nu mai face SELECT
+        updatedProduct.setCategory(product.getCategory() == null
+                ? null
+                : categoryRepository.getReferenceById(product.getCategory().getId()));
+        productSearchIndex.index(id, updatedProduct.getName());
+        catalogCache.evictProducts(List.of(id));
+        catalogVersion.increment();
+        changeLogService.record(ChangeLogEntry.Type.PRODUCT_UPSERTED, id);
+        return Optional.of(updatedProduct);
+    }
+
+    // PATCH: un singur UPDATE pe coloanele trimise, fara SELECT inainte.
+    // Versiunea asteptata vine din body sau din If-Match; fara ea e last-write-wins (dar version creste oricum).
+    @Transactional
+    public void patchProduct(int id, ProductPatch patch, Long ifMatchVersion) {
+        if (patch == null || patch.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least one of name, price or categoryId is required");
+        }
+        Long expectedVersion = patch.getVersion() != null ? patch.getVersion() : ifMatchVersion;
+
+        Category category = null;
+        if (patch.getCategoryId() != null) {
+            if (patch.getCategoryId() <= 0) {
+                throw new CategoryNotFoundException("Category id must be > 0");
+            }
+            category = categoryRepository.getReferenceById(patch.getCategoryId());
+        }
+
+        int updated;
+        try {
+            updated = productRepository.patch(id, patch.getName(), patch.getPrice(), category, expectedVersion);
+        } catch (DataIntegrityViolationException e) {
+            // existenta categoriei o verifica FK-ul, nu un SELECT facut inainte;
+            // alte incalcari (ex. un nume prea lung) nu au legatura cu categoria
+            if (category != null && isCategoryForeignKeyViolation(e)) {
+                throw new CategoryNotFoundException("Category with id " + patch.getCategoryId() + " not found");
+            }
+            throw e;
+        }
+        if (updated == 0) {
+            // interogare in plus doar pe calea de eroare, ca sa deosebesc 404 de 409
+            if (!productRepository.existsById(id)) {
+                throw new ProductNotFoundException("Product with id " + id + " not found");
+            }
+            throw new ObjectOptimisticLockingFailureException(Product.class, id);
+        }
+        if (patch.getName() != null) {
+            productSearchIndex.index(id, patch.getName());
+        }
+        catalogCache.evictProducts(List.of(id));
+        catalogVersion.increment();
+        changeLogService.record(ChangeLogEntry.Type.PRODUCT_UPSERTED, id);
     }
 
 /*    @DeleteMapping("/{id}")
@@ -59,16 +256,29 @@ public class ProductService {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Product not found.");
     }*/
 
+    // in aceeasi tranzactie delete(product) foloseste entitatea deja incarcata (deleteById ar citi-o din nou)
+    @Transactional
     public Product deleteProductById(Integer id) {
         return productRepository.findById(id)
                 .map(product -> {
-                    productRepository.deleteById(product.getId());
+                    productRepository.delete(product);
+                    productSearchIndex.remove(product.getId());
+                    catalogCache.evictProducts(List.of(product.getId()));
+                    catalogVersion.increment();
+                    changeLogService.record(ChangeLogEntry.Type.PRODUCT_DELETED, product.getId());
                     return product;
                 }).orElse(
                         null
                 );
     }
 
+    // UPDATE-ul de PATCH schimba doar name, price si category_id, deci o incalcare de integritate referentiala
+    // (SQLState 23503 standard, 23506 in H2) poate veni doar de la FK-ul product -> category
+    private static boolean isCategoryForeignKeyViolation(DataIntegrityViolationException e) {
+        return e.getCause() instanceof ConstraintViolationException violation
+                && FOREIGN_KEY_SQL_STATES.contains(violation.getSQLState());
+    }
+
     private void requireProductBody(Product product) {
         if (product == null) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Request body 'product' is required");
@@ -0,0 +1,19 @@
+package sda.academy.restdemo.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Locale;
+
+// campurile dupa care se poate pagina lista de produse; id-ul e mereu tiebreaker
+public enum ProductSort {
+    ID, PRICE, NAME;
+
+    public static ProductSort from(String value) {
+        try {
+            return ProductSort.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown sort '" + value + "', expected id, price or name");
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package sda.academy.restdemo.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+final class TransactionCallbacks {
+
+    private TransactionCallbacks() {
+    }
+
+    // daca suntem intr-o tranzactie, actiunea ruleaza abia dupa commit (la rollback deloc);
+    // altfel un cititor concurent ar putea vedea efectul inainte ca modificarea sa fie vizibila in DB
+    static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
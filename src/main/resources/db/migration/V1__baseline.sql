@@ -0,0 +1,71 @@
+-- Schema asa cum o genera Hibernate (ddl-auto=update) pana la trecerea pe migrari.
+-- Bazele de date existente sunt marcate cu baseline la versiunea 0 (spring.flyway.baseline-on-migrate),
+-- deci scriptul asta ruleaza si pe ele: o baza creata inainte poate avea doar PRODUCT si CATEGORY,
+-- fara coloanele version si fara tabelele adaugate ulterior. De aceea totul e "if not exists".
+
+-- id-urile produselor: Hibernate rezerva cate 50 odata (allocationSize), pentru insert-uri in batch
+create sequence if not exists product_seq start with 1 increment by 50;
+
+create table if not exists category (
+    id      integer generated by default as identity,
+    name    varchar(255),
+    version bigint default 0 not null,
+    primary key (id)
+);
+
+-- la stergerea categoriei produsele raman, cu category_id = NULL (vezi README2)
+create table if not exists product (
+    id          integer not null,
+    name        varchar(255),
+    price       float(53) not null check (price >= 1),
+    category_id integer,
+    version     bigint default 0 not null,
+    primary key (id),
+    constraint fk_product_category foreign key (category_id) references category (id) on delete set null
+);
+
+create table if not exists category_removal_job (
+    id                 bigint generated by default as identity,
+    category_id        integer not null,
+    target_category_id integer,
+    status             varchar(16) not null check (status in ('PENDING', 'RUNNING', 'COMPLETED', 'FAILED')),
+    products_total     bigint not null,
+    products_moved     bigint not null,
+    last_product_id    integer not null,
+    error              varchar(500),
+    created_at         timestamp(6) with time zone,
+    updated_at         timestamp(6) with time zone,
+    version            bigint not null,
+    primary key (id)
+);
+
+create table if not exists change_log_entry (
+    seq         bigint not null,
+    type        varchar(32) not null check (type in ('PRODUCT_UPSERTED', 'PRODUCT_DELETED', 'PRODUCT_CATEGORY_CHANGED',
+                                                     'CATEGORY_UPSERTED', 'CATEGORY_CLEARED', 'CATEGORY_DELETED')),
+    entity_ids  varchar(8000) not null,
+    category_id integer,
+    created_at  timestamp(6) with time zone,
+    primary key (seq)
+);
+
+-- un singur rand (id = 1), creat de ChangeLogService la pornire
+create table if not exists change_log_counter (
+    id       integer not null,
+    last_seq bigint not null,
+    primary key (id)
+);
+
+-- completari pentru bazele de date create de Hibernate inainte de migrari (no-op pe o baza noua)
+alter table category add column if not exists version bigint default 0 not null;
+alter table product add column if not exists version bigint default 0 not null;
+alter table product add constraint if not exists fk_product_category
+    foreign key (category_id) references category (id) on delete set null;
+
+-- Hibernate (optimizer pooled) foloseste id-urile (valoare - 49 .. valoare), deci urmatoarea valoare
+-- a secventei trebuie sa fie cu cel putin 50 peste cel mai mare id existent; nu coboara niciodata secventa
+alter sequence product_seq restart with (
+    select greatest(coalesce(max(id), 0) + 50,
+                    (select base_value from information_schema.sequences
+                     where sequence_schema = 'PUBLIC' and sequence_name = 'PRODUCT_SEQ'))
+    from product);
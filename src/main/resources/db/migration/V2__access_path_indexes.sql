@@ -0,0 +1,22 @@
+-- Indexurile pentru interogarile din repository-uri (verificate cu EXPLAIN in QueryPlanTest).
+-- "if not exists": pe bazele de date preluate cu baseline o parte pot exista deja (create de Hibernate).
+
+-- keyset pagination sortata dupa pret / nume, cu id ca tiebreaker; fatetele filtreaza pe interval de pret
+create index if not exists idx_product_price_id on product (price, id);
+create index if not exists idx_product_name_id on product (name, id);
+
+-- filtrele "categoria X intre pretul A si B"
+create index if not exists idx_product_category_price on product (category_id, price);
+
+-- produsele unei categorii in ordinea id-ului (mutarea pe bucati la stergerea categoriei, count pe categorie)
+create index if not exists idx_product_category_id on product (category_id, id);
+
+-- dropdown-ul de categorii, ordonat dupa nume
+create index if not exists idx_category_name on category (name, id);
+
+-- joburile neterminate (reluate la pornire) si verificarea "exista deja un job pentru categoria X"
+create index if not exists idx_category_removal_job_status on category_removal_job (status);
+create index if not exists idx_category_removal_job_category on category_removal_job (category_id, status);
+
+-- compactarea change log-ului (delete ... where created_at < ?)
+create index if not exists idx_change_log_created_at on change_log_entry (created_at);
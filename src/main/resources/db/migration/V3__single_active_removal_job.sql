@@ -0,0 +1,15 @@
+-- Cel mult un job de stergere activ (PENDING/RUNNING) per categorie, garantat de baza de date:
+-- doua POST-uri concurente pot trece amandoua de verificarea din CategoryRemovalService.start(),
+-- dar al doilea INSERT pica pe indexul unic. Coloana e NULL pentru joburile terminate (NULL-urile nu intra in conflict).
+
+-- daca exista deja duplicate, raman active doar cele mai vechi joburi; celelalte sunt marcate FAILED
+update category_removal_job j
+set status = 'FAILED', error = 'Another removal job for this category was already active'
+where status in ('PENDING', 'RUNNING')
+  and exists (select 1 from category_removal_job o
+              where o.category_id = j.category_id and o.status in ('PENDING', 'RUNNING') and o.id < j.id);
+
+alter table category_removal_job add column if not exists active_category_id integer
+    generated always as (case when status in ('PENDING', 'RUNNING') then category_id end);
+
+create unique index if not exists uq_category_removal_job_active on category_removal_job (active_category_id);
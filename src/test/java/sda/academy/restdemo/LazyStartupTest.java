@@ -0,0 +1,31 @@
+package sda.academy.restdemo;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// In profilul prod bean-urile sunt lazy; cele care trebuie sa lucreze de la pornire nu au voie sa fie amanate
+@SpringBootTest(properties = "spring.main.lazy-initialization=true")
+@ActiveProfiles("test")
+class LazyStartupTest {
+
+    @Autowired
+    ConfigurableApplicationContext context;
+
+    @Test
+    void startupWorkIsNotDeferred() {
+        assertTrue(context.getBeanFactory().containsSingleton("productSearchIndex"));
+        assertTrue(context.getBeanFactory().containsSingleton("changeLogService"));
+        assertTrue(context.getBeanFactory().containsSingleton("changeFeedPublisher"));
+    }
+
+    @Test
+    void otherBeansWaitForFirstUse() {
+        assertFalse(context.getBeanFactory().containsSingleton("categoryViewController"));
+    }
+}
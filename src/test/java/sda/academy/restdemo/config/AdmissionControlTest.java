@@ -0,0 +1,161 @@
+package sda.academy.restdemo.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdmissionControlTest {
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void rejectsAboveLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10, clock::get);
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+
+        limit.release(MS, 2, false);
+        assertTrue(limit.tryAcquire());
+    }
+
+    @Test
+    void limitGrowsWhileLatencyStaysFlat() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 2, 100, clock::get);
+        for (int i = 0; i < 50; i++) {
+            saturatedSample(limit, 5 * MS);
+        }
+        assertTrue(limit.getLimit() > 10, "limit " + limit.getLimit());
+    }
+
+    @Test
+    void limitShrinksWhenRequestsStartQueueing() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(50, 2, 100, clock::get);
+        saturatedSample(limit, 5 * MS);
+        for (int i = 0; i < 50; i++) {
+            saturatedSample(limit, 50 * MS);
+        }
+        assertTrue(limit.getLimit() < 50, "limit " + limit.getLimit());
+    }
+
+    @Test
+    void failuresBackOffMultiplicatively() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(50, 2, 100, clock::get);
+        limit.tryAcquire();
+        limit.release(MS, 1, true);
+        assertEquals(45, limit.getLimit());
+    }
+
+    // cu putine request-uri in lucru latenta nu spune nimic despre limita
+    @Test
+    void idleTrafficDoesNotMoveLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 2, 100, clock::get);
+        for (int i = 0; i < 50; i++) {
+            limit.tryAcquire();
+            limit.release(i == 0 ? MS : 100 * MS, 1, false);
+        }
+        assertEquals(20, limit.getLimit());
+    }
+
+    @Test
+    void filterShedsExcessWith503AndRetryAfter() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AdmissionControlFilter filter = new AdmissionControlFilter(registry, new ObjectMapper(), 1, 1, 1, 2, List.of());
+        MockHttpServletResponse nested = new MockHttpServletResponse();
+
+        // al doilea request soseste cat timp primul e inca in lucru
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/products"), first,
+                (request, response) -> filter.doFilter(new MockHttpServletRequest("GET", "/api/categories"), nested, new MockFilterChain()));
+
+        assertEquals(200, first.getStatus());
+        assertEquals(503, nested.getStatus());
+        assertEquals("2", nested.getHeader("Retry-After"));
+        assertEquals(1, registry.get("catalog.admission.shed").tag("route", "list").counter().count());
+    }
+
+    @Test
+    void routeClassesHaveSeparateLimits() throws Exception {
+        AdmissionControlFilter filter = new AdmissionControlFilter(new SimpleMeterRegistry(), new ObjectMapper(), 1, 1, 1, 1, List.of());
+        MockHttpServletResponse pointRead = new MockHttpServletResponse();
+        MockHttpServletResponse write = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/products"), new MockHttpServletResponse(), (request, response) -> {
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/products/7"), pointRead, new MockFilterChain());
+            filter.doFilter(new MockHttpServletRequest("PUT", "/api/products/7"), write, new MockFilterChain());
+        });
+
+        assertEquals(200, pointRead.getStatus());
+        assertEquals(200, write.getStatus());
+    }
+
+    @Test
+    void viewsAndExcludedPathsAreNotLimited() throws Exception {
+        AdmissionControlFilter filter = new AdmissionControlFilter(new SimpleMeterRegistry(), new ObjectMapper(), 1, 1, 1, 1,
+                List.of("/api/changes/stream"));
+        MockHttpServletResponse view = new MockHttpServletResponse();
+        MockHttpServletResponse stream = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/products"), new MockHttpServletResponse(), (request, response) -> {
+            filter.doFilter(new MockHttpServletRequest("GET", "/view/products"), view, new MockFilterChain());
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/changes/stream"), stream, new MockFilterChain());
+        });
+
+        assertEquals(200, view.getStatus());
+        assertEquals(200, stream.getStatus());
+    }
+
+    // 401/404 rapide (ex. fara token) nu trebuie sa coboare minRtt: altfel request-urile normale par puse
+    // in coada si limita scade pana la min-limit
+    @Test
+    void fastClientErrorsDoNotLowerTheLimit() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AdmissionControlFilter filter = new AdmissionControlFilter(registry, new ObjectMapper(), 20, 2, 100, 1, List.of(), clock::get);
+
+        for (int i = 0; i < 200; i++) {
+            int status = i % 2 == 0 ? 401 : 404;
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/products"), new MockHttpServletResponse(), (request, response) -> {
+                clock.addAndGet(MS / 100);
+                ((MockHttpServletResponse) response).setStatus(status);
+            });
+        }
+        // trafic normal la saturatie: 10 request-uri in lucru, fiecare de 5 ms
+        for (int round = 0; round < 20; round++) {
+            nested(filter, 10, 5 * MS);
+        }
+
+        double limit = registry.get("catalog.admission.limit").tag("route", "list").gauge().value();
+        assertTrue(limit >= 20, "limit " + limit);
+    }
+
+    // depth request-uri imbricate, deci ultimul e admis cu depth request-uri in lucru; toate dureaza rttNanos
+    private void nested(AdmissionControlFilter filter, int depth, long rttNanos) throws IOException, ServletException {
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/products"), new MockHttpServletResponse(), (request, response) -> {
+            if (depth > 1) {
+                nested(filter, depth - 1, rttNanos);
+            } else {
+                clock.addAndGet(rttNanos);
+            }
+        });
+    }
+
+    private void saturatedSample(AdaptiveConcurrencyLimit limit, long rttNanos) {
+        clock.addAndGet(MS);
+        limit.tryAcquire();
+        limit.release(rttNanos, limit.getLimit(), false);
+    }
+}
@@ -0,0 +1,111 @@
+package sda.academy.restdemo.config;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// trei baze H2 in memorie: "primary" si doua "replici"; fiecare are un tabel node cu numele ei,
+// deci rezultatul unei citiri arata pe ce DataSource a ajuns
+class ReadWriteRoutingDataSourceTest {
+    private final AtomicLong ticker = new AtomicLong();
+
+    ReadWriteRoutingDataSource routing;
+    JdbcTemplate jdbc;
+    TransactionTemplate readOnly;
+    TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = node("primary");
+        List<DataSource> replicas = List.of(node("replica-a"), node("replica-b"));
+        routing = new ReadWriteRoutingDataSource(primary, replicas,
+                new ReplicaLagGuard(Duration.ofSeconds(2), ticker::get));
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbc = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        login("alice");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsAreSpreadOverReplicas() {
+        assertEquals("replica-a", readOnly.execute(status -> currentNode()));
+        assertEquals("replica-b", readOnly.execute(status -> currentNode()));
+        assertEquals("replica-a", readOnly.execute(status -> currentNode()));
+    }
+
+    @Test
+    void writesAndNonTransactionalCallsUsePrimary() {
+        assertEquals("primary", readWrite.execute(status -> currentNode()));
+        assertEquals("primary", currentNode());
+    }
+
+    @Test
+    void writerReadsFromPrimaryUntilReplicasCatchUp() {
+        readWrite.executeWithoutResult(status -> jdbc.update("update node set writes = writes + 1"));
+        assertEquals("primary", readOnly.execute(status -> currentNode()));
+
+        // alt utilizator nu e afectat
+        login("bob");
+        assertEquals("replica-a", readOnly.execute(status -> currentNode()));
+
+        login("alice");
+        ticker.addAndGet(TimeUnit.SECONDS.toNanos(3));
+        assertEquals("replica-b", readOnly.execute(status -> currentNode()));
+    }
+
+    @Test
+    void rolledBackWriteDoesNotPinReadsToPrimary() {
+        readWrite.executeWithoutResult(status -> {
+            jdbc.update("update node set writes = writes + 1");
+            status.setRollbackOnly();
+        });
+        assertEquals("replica-a", readOnly.execute(status -> currentNode()));
+    }
+
+    @Test
+    void onPrimaryOverridesReadOnlyRouting() {
+        assertEquals("primary", readOnly.execute(status -> ReadWriteRoutingDataSource.onPrimary(this::currentNode)));
+        assertEquals("replica-a", readOnly.execute(status -> currentNode()));
+    }
+
+    private String currentNode() {
+        return jdbc.queryForObject("select name from node", String.class);
+    }
+
+    private static DataSource node(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:routing-" + name + "-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("create table node (name varchar(20), writes int)");
+        jdbc.update("insert into node values (?, 0)", name);
+        return dataSource;
+    }
+
+    private static void login(String user) {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(user, "n/a"));
+    }
+}
@@ -0,0 +1,99 @@
+package sda.academy.restdemo.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrlPattern;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// /api/** merge doar cu JWT si nu creeaza sesiuni; view-urile raman pe form login
+@SpringBootTest(properties = {"spring.security.user.name=api", "spring.security.user.password=secret"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ApiSecurityTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Test
+    void apiWithoutTokenIsRejectedWithoutSession() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/products"))
+                .andExpect(status().isUnauthorized())
+                .andReturn();
+
+        assertNull(result.getRequest().getSession(false));
+    }
+
+    @Test
+    void bearerTokenAuthenticatesApiWithoutSession() throws Exception {
+        MvcResult tokenResult = mockMvc.perform(post("/api/auth/token").with(httpBasic("api", "secret")))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertNull(tokenResult.getRequest().getSession(false));
+
+        JsonNode token = objectMapper.readTree(tokenResult.getResponse().getContentAsString());
+        assertEquals("Bearer", token.get("tokenType").asText());
+
+        MvcResult result = mockMvc.perform(get("/api/products")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token.get("accessToken").asText()))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertNull(result.getRequest().getSession(false));
+    }
+
+    @Test
+    void changeStreamAcceptsTokenAsQueryParameter() throws Exception {
+        mockMvc.perform(get("/api/changes/stream").param("access_token", issueToken()))
+                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    void otherApiPathsIgnoreTokenInQuery() throws Exception {
+        mockMvc.perform(get("/api/products").param("access_token", issueToken()))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void wrongPasswordGetsNoToken() throws Exception {
+        mockMvc.perform(post("/api/auth/token").with(httpBasic("api", "wrong")))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void tamperedTokenIsRejected() throws Exception {
+        mockMvc.perform(get("/api/products").header(HttpHeaders.AUTHORIZATION, "Bearer abc.def.ghi"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void viewsStillUseFormLogin() throws Exception {
+        mockMvc.perform(get("/view/products"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrlPattern("**/login"));
+    }
+
+    private String issueToken() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/auth/token").with(httpBasic("api", "secret")))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("accessToken").asText();
+    }
+}
@@ -0,0 +1,94 @@
+package sda.academy.restdemo.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import sda.academy.restdemo.model.Category;
+import sda.academy.restdemo.model.Product;
+import sda.academy.restdemo.repository.CategoryRepository;
+import sda.academy.restdemo.repository.ProductRepository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser
+class BinaryFormatsTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    Product product;
+
+    @BeforeEach
+    void seed() {
+        Category category = new Category();
+        category.setName("phones");
+        category = categoryRepository.save(category);
+        product = new Product();
+        product.setName("phone");
+        product.setPrice(100);
+        product.setCategory(category);
+        product = productRepository.save(product);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        productRepository.deleteAllInBatch();
+        categoryRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void cborFlattensCategoryToId() throws Exception {
+        JsonNode body = fetch(MediaType.APPLICATION_CBOR, new ObjectMapper(new CBORFactory()));
+
+        assertEquals(product.getCategory().getId(), body.get("categoryId").asInt());
+        assertFalse(body.has("category"));
+        assertEquals("phone", body.get("name").asText());
+    }
+
+    @Test
+    void smileFlattensCategoryToId() throws Exception {
+        JsonNode body = fetch(MediaType.parseMediaType("application/x-jackson-smile"), new ObjectMapper(new SmileFactory()));
+
+        assertEquals(product.getCategory().getId(), body.get("categoryId").asInt());
+    }
+
+    @Test
+    void jsonKeepsNestedCategory() throws Exception {
+        mockMvc.perform(get("/api/products/" + product.getId()).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.category.name").value("phones"));
+    }
+
+    private JsonNode fetch(MediaType mediaType, ObjectMapper reader) throws Exception {
+        byte[] bytes = mockMvc.perform(get("/api/products/" + product.getId()).accept(mediaType))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(mediaType))
+                .andReturn().getResponse().getContentAsByteArray();
+        return reader.readTree(bytes);
+    }
+}
@@ -0,0 +1,134 @@
+package sda.academy.restdemo.controller;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import sda.academy.restdemo.model.Category;
+import sda.academy.restdemo.model.Product;
+import sda.academy.restdemo.repository.CategoryRepository;
+import sda.academy.restdemo.repository.ProductRepository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser
+class ConditionalGetTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    Category category;
+    Product product;
+
+    @BeforeEach
+    void seed() {
+        category = new Category();
+        category.setName("phones");
+        category = categoryRepository.save(category);
+        product = new Product();
+        product.setName("phone");
+        product.setPrice(100);
+        product.setCategory(category);
+        product = productRepository.save(product);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        productRepository.deleteAllInBatch();
+        categoryRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void unchangedProductReturns304WithOnlyTheVersionQuery() throws Exception {
+        String etag = etagOf("/api/products/" + product.getId());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(get("/api/products/" + product.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void updateChangesProductEtag() throws Exception {
+        String etag = etagOf("/api/products/" + product.getId());
+
+        mockMvc.perform(put("/api/products/" + product.getId()).with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"phone 2\",\"price\":120,\"category\":{\"id\":" + category.getId() + "}}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/products/" + product.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+        assertNotEquals(etag, etagOf("/api/products/" + product.getId()));
+    }
+
+    @Test
+    void renamingCategoryChangesProductAndCollectionEtags() throws Exception {
+        String productEtag = etagOf("/api/products/" + product.getId());
+        String categoriesEtag = etagOf("/api/categories");
+        mockMvc.perform(get("/api/categories").header(HttpHeaders.IF_NONE_MATCH, categoriesEtag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(put("/api/categories/" + category.getId()).with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"smartphones\"}"))
+                .andExpect(status().isOk());
+
+        assertNotEquals(productEtag, etagOf("/api/products/" + product.getId()));
+        mockMvc.perform(get("/api/categories").header(HttpHeaders.IF_NONE_MATCH, categoriesEtag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void patchWithStaleIfMatchIsRejected() throws Exception {
+        String etag = etagOf("/api/products/" + product.getId());
+        mockMvc.perform(patch("/api/products/" + product.getId()).with(csrf())
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"price\": 110}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(patch("/api/products/" + product.getId()).with(csrf())
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"price\": 90}"))
+                .andExpect(status().isConflict());
+    }
+
+    private String etagOf(String url) throws Exception {
+        return mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+}
@@ -0,0 +1,29 @@
+package sda.academy.restdemo.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// spring.security.user.password poate fi deja codificata ({bcrypt}...), ca in configurarea implicita Spring Boot
+@SpringBootTest(properties = {"spring.security.user.name=api",
+        "spring.security.user.password={bcrypt}$2a$10$xUuLPwELoSyi8DgYnl99L.6bX0WqcXlUs4Yd56Xto6IBQmpVEpqmi"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class EncodedPasswordTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void encodedPasswordIsNotWrappedInNoop() throws Exception {
+        mockMvc.perform(post("/api/auth/token").with(httpBasic("api", "secret")))
+                .andExpect(status().isOk());
+    }
+}
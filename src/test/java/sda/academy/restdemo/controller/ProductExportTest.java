@@ -0,0 +1,127 @@
+package sda.academy.restdemo.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import sda.academy.restdemo.model.Category;
+import sda.academy.restdemo.model.Product;
+import sda.academy.restdemo.repository.CategoryRepository;
+import sda.academy.restdemo.repository.ProductRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// exportul e un StreamingResponseBody: raspunsul se scrie async, deci testul face si dispatch-ul async
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser
+class ProductExportTest {
+    // mai mult decat un flush (la 500 de randuri)
+    private static final int PRODUCTS = 1203;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    Category category;
+
+    @BeforeEach
+    void seed() {
+        category = new Category();
+        category.setName("Cables, \"gold\"");
+        category = categoryRepository.save(category);
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            Product product = new Product();
+            product.setName("product-" + i);
+            product.setPrice(1 + i);
+            product.setCategory(i % 2 == 0 ? category : null);
+            products.add(product);
+        }
+        products.get(0).setName("HDMI, 2m \"pro\"");
+        productRepository.saveAll(products);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        productRepository.deleteAllInBatch();
+        categoryRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void exportsNdjsonByDefault() throws Exception {
+        String body = export(null, "application/x-ndjson", "products.ndjson");
+
+        List<String> lines = body.lines().toList();
+        assertEquals(PRODUCTS, lines.size());
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertEquals("HDMI, 2m \"pro\"", first.get("name").asText());
+        assertEquals(category.getId(), first.get("category").get("id").asInt());
+        JsonNode second = objectMapper.readTree(lines.get(1));
+        assertTrue(second.get("category").isNull());
+    }
+
+    @Test
+    void exportsCsvWithEscapingAndEmptyCategory() throws Exception {
+        String body = export("csv", "text/csv;charset=UTF-8", "products.csv");
+
+        List<String> lines = body.lines().toList();
+        assertEquals(PRODUCTS + 1, lines.size());
+        assertEquals("id,name,price,category_id,category_name", lines.get(0));
+        List<Integer> ids = productRepository.findAll().stream().map(Product::getId).sorted().toList();
+        assertEquals(ids.get(0) + ",\"HDMI, 2m \"\"pro\"\"\",1.0," + category.getId() + ",\"Cables, \"\"gold\"\"\"", lines.get(1));
+        assertEquals(ids.get(1) + ",product-1,2.0,,", lines.get(2));
+        assertEquals(ids.get(PRODUCTS - 1) + ",product-" + (PRODUCTS - 1) + "," + (double) PRODUCTS + ","
+                + category.getId() + ",\"Cables, \"\"gold\"\"\"", lines.get(PRODUCTS));
+    }
+
+    @Test
+    void unknownFormatIsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/products/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private String export(String format, String contentType, String fileName) throws Exception {
+        MvcResult started = mockMvc.perform(format == null
+                        ? get("/api/products/export")
+                        : get("/api/products/export").param("format", format))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(contentType))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + fileName))
+                .andReturn();
+        return result.getResponse().getContentAsString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,158 @@
+package sda.academy.restdemo.controller;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import sda.academy.restdemo.model.Category;
+import sda.academy.restdemo.model.Product;
+import sda.academy.restdemo.repository.CategoryRepository;
+import sda.academy.restdemo.repository.ProductRepository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Numarul de interogari SQL pe fiecare listare trebuie sa fie constant, indiferent cate randuri sunt.
+// Daca cineva reintroduce un N+1 (ex. o relatie EAGER fara fetch plan), testul pica.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser
+class QueryCountTest {
+    private static final int CATEGORIES = 5;
+    private static final int PRODUCTS_PER_CATEGORY = 10;
+    // orice scriere: UPDATE + SELECT pe contorul change log-ului si INSERT-ul intrarii
+    private static final int CHANGE_LOG_STATEMENTS = 3;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    Statistics statistics;
+
+    @BeforeEach
+    void seed() {
+        for (int c = 0; c < CATEGORIES; c++) {
+            Category category = new Category();
+            category.setName("category-" + c);
+            category = categoryRepository.save(category);
+            for (int p = 0; p < PRODUCTS_PER_CATEGORY; p++) {
+                Product product = new Product();
+                product.setName("product-" + c + "-" + p);
+                product.setPrice(1 + p);
+                product.setCategory(category);
+                productRepository.save(product);
+            }
+        }
+        // datele sunt puse direct prin repository, fara sa treaca prin servicii care invalideaza cache-urile
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        productRepository.deleteAllInBatch();
+        categoryRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void productPageSortedById() throws Exception {
+        assertStatements(1, get("/api/products").param("limit", "30"));
+    }
+
+    @Test
+    void productPageSortedByPrice() throws Exception {
+        assertStatements(1, get("/api/products").param("limit", "30").param("sort", "price"));
+    }
+
+    @Test
+    void productPageSortedByName() throws Exception {
+        assertStatements(1, get("/api/products").param("limit", "30").param("sort", "name"));
+    }
+
+    @Test
+    void filteredProductsWithFacets() throws Exception {
+        // produsele filtrate + un singur GROUP BY pentru fatete
+        assertStatements(2, get("/api/products/filter").param("minPrice", "2").param("maxPrice", "8"));
+    }
+
+    @Test
+    void categoriesWithProducts() throws Exception {
+        assertStatements(1, get("/api/categories"));
+    }
+
+    @Test
+    void categorySummaries() throws Exception {
+        assertStatements(1, get("/api/categories/summary"));
+    }
+
+    @Test
+    void productsView() throws Exception {
+        // pagina + COUNT (pagina e plina, deci Spring Data nu poate deduce totalul)
+        assertStatements(2, get("/view/products"));
+    }
+
+    @Test
+    void productsViewRowsComeFromFragmentCache() throws Exception {
+        mockMvc.perform(get("/view/products").param("size", "20")).andExpect(status().isOk());
+        statistics.clear();
+        assertStatements(0, get("/view/products").param("size", "20"));
+    }
+
+    @Test
+    void categoriesView() throws Exception {
+        assertStatements(1, get("/view/categories"));
+    }
+
+    @Test
+    void patchPriceIsSingleUpdate() throws Exception {
+        Product product = productRepository.findAll().get(0);
+        statistics.clear();
+        // un singur UPDATE pe produs + intrarea din change log
+        assertStatements(1 + CHANGE_LOG_STATEMENTS, patch("/api/products/" + product.getId()).with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"price\": 42}"));
+    }
+
+    @Test
+    void patchCategoryUsesReferenceWithoutSelect() throws Exception {
+        Product product = productRepository.findAll().get(0);
+        Category other = categoryRepository.findAll().get(CATEGORIES - 1);
+        statistics.clear();
+        assertStatements(1 + CHANGE_LOG_STATEMENTS, patch("/api/products/" + product.getId()).with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"categoryId\": " + other.getId() + ", \"version\": " + product.getVersion() + "}"));
+    }
+
+    private void assertStatements(long expected, RequestBuilder request) throws Exception {
+        mockMvc.perform(request).andExpect(status().isOk());
+        assertEquals(expected, statistics.getPrepareStatementCount(),
+                "SQL statements executed for the request");
+    }
+}
@@ -0,0 +1,192 @@
+package sda.academy.restdemo.load;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import sda.academy.restdemo.RestDemoApplication;
+import sda.academy.restdemo.model.Category;
+import sda.academy.restdemo.repository.CategoryRepository;
+import sda.academy.restdemo.service.ProductImportService;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Test end-to-end: aplicatia reala pe un port aleator, catalog H2 populat, trafic mixt citiri/scrieri pe
+// /api/products, /api/categories, /api/messages si view-urile Thymeleaf, cu sosiri Poisson la o rata fixa.
+// Esueaza daca vreun SLO din load-slo.properties e depasit. Raportul ajunge si in target/load-slo-report.csv.
+// Ruleaza cu: ./mvnw -Pload-test test -Dtest=CatalogSloLoadTest -Dloadtest.rate=200 -Dloadtest.seconds=60
+@Tag("load")
+class CatalogSloLoadTest {
+    private static final int PRODUCTS = 5_000;
+    private static final int CATEGORIES = 20;
+    private static final double RATE = Double.parseDouble(System.getProperty("loadtest.rate", "100"));
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("loadtest.seconds", 30));
+    private static final int MAX_IN_FLIGHT = Integer.getInteger("loadtest.max-in-flight", 2_000);
+    private static final String USER = "load";
+    private static final String PASSWORD = "load-password";
+
+    @Test
+    void mixedWorkloadMeetsSlos() throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(RestDemoApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:slo;DB_CLOSE_DELAY=-1",
+                        "spring.security.user.name=" + USER,
+                        "spring.security.user.password=" + PASSWORD,
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "logging.level.root=WARN")
+                .run()) {
+            int firstCategory = seed(context);
+            String base = "http://localhost:" + context.getEnvironment().getRequiredProperty("local.server.port");
+
+            HttpClient api = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+            String token = LoadClients.bearerToken(api, base, USER, PASSWORD);
+            HttpClient browser = LoadClients.formLogin(base, USER, PASSWORD);
+            Workload workload = workload(base, api, token, browser, firstCategory);
+
+            LoadDriver.openLoop(RATE, Duration.ofSeconds(5), MAX_IN_FLIGHT, workload); // incalzire (JIT, cache-uri, pool)
+            Map<String, LoadResult> results = LoadDriver.openLoop(RATE, DURATION, MAX_IN_FLIGHT, workload);
+            LoadResult total = LoadResult.combine(results.values());
+
+            results.forEach((name, result) -> System.out.printf("%-18s %s%n", name, result));
+            System.out.printf("%-18s %s%n", "total", total);
+            writeReport(results, total);
+
+            Properties slo = slo();
+            List<String> violations = new ArrayList<>();
+            results.forEach((name, result) -> check(slo, name, result, violations));
+            check(slo, "total", total, violations);
+            assertTrue(violations.isEmpty(), "SLO violations at " + RATE + " req/s:\n" + String.join("\n", violations));
+        }
+    }
+
+    private static Workload workload(String base, HttpClient api, String token, HttpClient browser, int firstCategory) {
+        return new Workload()
+                .add("product.get", 25, api, () -> apiGet(base, token, "/api/products/" + (1 + ThreadLocalRandom.current().nextInt(PRODUCTS))))
+                .add("product.list", 12, api, () -> apiGet(base, token, "/api/products?limit=20&sort=price"))
+                .add("product.filter", 6, api, () -> apiGet(base, token, "/api/products/filter?limit=20&minPrice=10&maxPrice=200&categoryId="
+                        + (firstCategory + ThreadLocalRandom.current().nextInt(CATEGORIES))))
+                .add("product.search", 5, api, () -> apiGet(base, token, "/api/products/search?q=product-" + ThreadLocalRandom.current().nextInt(100)))
+                .add("product.create", 4, api, () -> apiSend(base, token, "POST", "/api/products",
+                        "{\"name\":\"created-" + System.nanoTime() + "\",\"price\":" + (1 + ThreadLocalRandom.current().nextInt(500))
+                                + ",\"category\":{\"id\":" + firstCategory + "}}"))
+                .add("product.update", 4, api, () -> {
+                    int id = 1 + ThreadLocalRandom.current().nextInt(PRODUCTS);
+                    return apiSend(base, token, "PUT", "/api/products/" + id,
+                            "{\"name\":\"product-" + id + "\",\"price\":" + (1 + ThreadLocalRandom.current().nextInt(500))
+                                    + ",\"category\":{\"id\":" + (firstCategory + id % CATEGORIES) + "}}");
+                })
+                .add("category.summary", 10, api, () -> apiGet(base, token, "/api/categories/summary"))
+                .add("category.get", 6, api, () -> apiGet(base, token, "/api/categories/" + (firstCategory + ThreadLocalRandom.current().nextInt(CATEGORIES))))
+                .add("message.list", 5, api, () -> apiGet(base, token, "/api/messages"))
+                .add("message.create", 5, api, () -> apiSend(base, token, "POST", "/api/messages",
+                        "{\"contentOfMessage\":\"load " + System.nanoTime() + "\"}"))
+                .add("view.products", 12, browser, () -> HttpRequest.newBuilder(URI.create(base + "/view/products?size=50&page="
+                                + ThreadLocalRandom.current().nextInt(PRODUCTS / 50)))
+                        .timeout(Duration.ofSeconds(30)).build())
+                .add("view.categories", 6, browser, () -> HttpRequest.newBuilder(URI.create(base + "/view/categories"))
+                        .timeout(Duration.ofSeconds(30)).build());
+    }
+
+    private static HttpRequest apiGet(String base, String token, String path) {
+        return HttpRequest.newBuilder(URI.create(base + path))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .build();
+    }
+
+    private static HttpRequest apiSend(String base, String token, String method, String path, String json) {
+        return HttpRequest.newBuilder(URI.create(base + path))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(json))
+                .timeout(Duration.ofSeconds(30))
+                .build();
+    }
+
+    private static void check(Properties slo, String name, LoadResult result, List<String> violations) {
+        checkPercentile(slo, name, "p50-ms", 50, result, violations);
+        checkPercentile(slo, name, "p99-ms", 99, result, violations);
+        checkPercentile(slo, name, "p999-ms", 99.9, result, violations);
+        double maxErrorRate = Double.parseDouble(slo.getProperty("error-rate"));
+        if (result.getErrorRate() > maxErrorRate) {
+            violations.add(String.format("%s: error rate %.2f%% > %.2f%%", name, result.getErrorRate() * 100, maxErrorRate * 100));
+        }
+    }
+
+    private static void checkPercentile(Properties slo, String name, String key, double percentile,
+                                        LoadResult result, List<String> violations) {
+        String limit = slo.getProperty(name + "." + key);
+        if (limit == null) {
+            return;
+        }
+        double actual = result.percentileMillis(percentile);
+        if (actual > Double.parseDouble(limit)) {
+            violations.add(String.format("%s: %s %.1f ms > %s ms", name, key, actual, limit));
+        }
+    }
+
+    // valorile din fisier, suprascrise de -Dslo.*
+    private static Properties slo() throws Exception {
+        Properties slo = new Properties();
+        try (InputStream in = CatalogSloLoadTest.class.getResourceAsStream("/load-slo.properties")) {
+            slo.load(in);
+        }
+        System.getProperties().stringPropertyNames().stream()
+                .filter(key -> key.startsWith("slo."))
+                .forEach(key -> slo.setProperty(key.substring("slo.".length()), System.getProperty(key)));
+        return slo;
+    }
+
+    private static void writeReport(Map<String, LoadResult> results, LoadResult total) throws Exception {
+        StringBuilder csv = new StringBuilder("operation,requests,errors,req_per_s,p50_ms,p99_ms,p999_ms\n");
+        results.forEach((name, result) -> appendRow(csv, name, result));
+        appendRow(csv, "total", total);
+        Path report = Path.of("target", "load-slo-report.csv");
+        Files.createDirectories(report.getParent());
+        Files.writeString(report, csv);
+    }
+
+    private static void appendRow(StringBuilder csv, String name, LoadResult result) {
+        csv.append(String.format(Locale.ROOT, "%s,%d,%d,%.1f,%.2f,%.2f,%.2f%n", name, result.getRequests(), result.getErrors(),
+                result.getThroughput(), result.percentileMillis(50), result.percentileMillis(99), result.percentileMillis(99.9)));
+    }
+
+    // categoriile si produsele sunt create inainte de pornirea traficului; intoarce id-ul primei categorii
+    private static int seed(ConfigurableApplicationContext context) throws Exception {
+        CategoryRepository categories = context.getBean(CategoryRepository.class);
+        int firstCategory = 0;
+        for (int i = 0; i < CATEGORIES; i++) {
+            Category category = new Category();
+            category.setName("category-" + i);
+            int id = categories.save(category).getId();
+            firstCategory = i == 0 ? id : firstCategory;
+        }
+
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < PRODUCTS; i++) {
+            ndjson.append("{\"name\":\"product-").append(i).append("\",\"price\":").append(1 + i % 500)
+                    .append(",\"category\":{\"id\":").append(firstCategory + i % CATEGORIES).append("}}\n");
+        }
+        context.getBean(ProductImportService.class)
+                .importProducts(new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)));
+        return firstCategory;
+    }
+}
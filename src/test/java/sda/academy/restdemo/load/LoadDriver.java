@@ -0,0 +1,151 @@
+package sda.academy.restdemo.load;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+// Generator de trafic HTTP pentru testele de incarcare.
+public final class LoadDriver {
+
+    private LoadDriver() {
+    }
+
+    // Model inchis: `clients` clienti, fiecare trimite urmatorul request imediat ce l-a primit pe cel anterior.
+    public static LoadResult closedLoop(HttpClient client, int clients, Duration duration,
+                                        Supplier<HttpRequest> requests) throws Exception {
+        AtomicLong errors = new AtomicLong();
+        long deadline = System.nanoTime() + duration.toNanos();
+        long start = System.nanoTime();
+        List<Future<long[]>> results = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                results.add(executor.submit(() -> {
+                    LatencyBuffer latencies = new LatencyBuffer();
+                    while (System.nanoTime() < deadline) {
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(requests.get(), HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 400) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies.add(System.nanoTime() - sent);
+                    }
+                    return latencies.toArray();
+                }));
+            }
+
+            List<long[]> perClient = new ArrayList<>();
+            for (Future<long[]> result : results) {
+                perClient.add(result.get());
+            }
+            return new LoadResult(LatencyBuffer.concat(perClient), errors.get(), Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    // Model deschis: sosirile urmeaza un proces Poisson cu rata data, indiferent daca request-urile anterioare
+    // s-au terminat (ca traficul real). Latenta se masoara de la momentul programat al sosirii, nu de la trimitere,
+    // deci o intarziere a generatorului sau o coada in server apare in percentile (fara coordinated omission).
+    // Peste maxInFlight request-uri neterminate sosirile noi sunt abandonate si numarate ca erori.
+    public static Map<String, LoadResult> openLoop(double ratePerSecond, Duration duration, int maxInFlight,
+                                                   Workload workload) throws Exception {
+        Map<String, LatencyBuffer> latencies = new LinkedHashMap<>();
+        Map<String, AtomicLong> errors = new LinkedHashMap<>();
+        for (Workload.Operation operation : workload.operations()) {
+            latencies.put(operation.name(), new LatencyBuffer());
+            errors.put(operation.name(), new AtomicLong());
+        }
+        AtomicInteger inFlight = new AtomicInteger();
+        double meanGapNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            long scheduled = start;
+            while (true) {
+                scheduled += (long) (-Math.log(1 - ThreadLocalRandom.current().nextDouble()) * meanGapNanos);
+                if (scheduled >= end) {
+                    break;
+                }
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                Workload.Operation operation = workload.pick();
+                if (inFlight.incrementAndGet() > maxInFlight) {
+                    inFlight.decrementAndGet();
+                    errors.get(operation.name()).incrementAndGet();
+                    continue;
+                }
+                long intended = scheduled;
+                executor.submit(() -> {
+                    try {
+                        HttpResponse<Void> response = operation.client().send(operation.request().get(),
+                                HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() >= 400) {
+                            errors.get(operation.name()).incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.get(operation.name()).incrementAndGet();
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                    LatencyBuffer buffer = latencies.get(operation.name());
+                    synchronized (buffer) {
+                        buffer.add(System.nanoTime() - intended);
+                    }
+                });
+            }
+        }
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        Map<String, LoadResult> results = new LinkedHashMap<>();
+        latencies.forEach((name, buffer) -> results.put(name, new LoadResult(buffer.toArray(), errors.get(name).get(), elapsed)));
+        return results;
+    }
+
+    static final class LatencyBuffer {
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+
+        static long[] concat(List<long[]> parts) {
+            int total = parts.stream().mapToInt(part -> part.length).sum();
+            long[] all = new long[total];
+            int offset = 0;
+            for (long[] part : parts) {
+                System.arraycopy(part, 0, all, offset, part.length);
+                offset += part.length;
+            }
+            return all;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package sda.academy.restdemo.load;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+public class LoadResult {
+    private final long[] latenciesNanos;
+    private final long errors;
+    private final Duration elapsed;
+
+    public LoadResult(long[] latenciesNanos, long errors, Duration elapsed) {
+        this.latenciesNanos = latenciesNanos.clone();
+        Arrays.sort(this.latenciesNanos);
+        this.errors = errors;
+        this.elapsed = elapsed;
+    }
+
+    // toate operatiile dintr-un test deschis, ca un singur rezultat
+    public static LoadResult combine(Collection<LoadResult> results) {
+        long[] all = results.stream().flatMapToLong(result -> Arrays.stream(result.latenciesNanos)).toArray();
+        long errors = results.stream().mapToLong(LoadResult::getErrors).sum();
+        Duration elapsed = results.stream().map(result -> result.elapsed).max(Duration::compareTo).orElse(Duration.ZERO);
+        return new LoadResult(all, errors, elapsed);
+    }
+
+    public long getRequests() {
+        return latenciesNanos.length;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    // raportat la request-urile terminate (cele abandonate de openLoop sunt doar erori)
+    public double getErrorRate() {
+        return latenciesNanos.length == 0 ? (errors == 0 ? 0 : 1) : errors / (double) latenciesNanos.length;
+    }
+
+    public double getThroughput() {
+        return latenciesNanos.length / (elapsed.toNanos() / 1_000_000_000.0);
+    }
+
+    public double percentileMillis(double percentile) {
+        if (latenciesNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * latenciesNanos.length) - 1;
+        return latenciesNanos[Math.max(0, Math.min(index, latenciesNanos.length - 1))] / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d requests, %d errors, %.0f req/s, p50 %.1f ms, p99 %.1f ms, p99.9 %.1f ms",
+                getRequests(), errors, getThroughput(), percentileMillis(50), percentileMillis(99), percentileMillis(99.9));
+    }
+}
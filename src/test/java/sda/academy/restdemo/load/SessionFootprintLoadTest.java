@@ -0,0 +1,79 @@
+package sda.academy.restdemo.load;
+
+import org.apache.catalina.Context;
+import org.apache.catalina.Manager;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import sda.academy.restdemo.RestDemoApplication;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Cate sesiuni HTTP (si cata memorie) raman pe server dupa N clienti: form login vs token JWT pe /api/**.
+// Ruleaza cu: ./mvnw -Pload-test test -Dtest=SessionFootprintLoadTest
+@Tag("load")
+class SessionFootprintLoadTest {
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 2_000);
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("loadtest.seconds", 15));
+
+    @Test
+    void bearerClientsLeaveNoSessions() throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(RestDemoApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:sessions;DB_CLOSE_DELAY=-1",
+                        "spring.security.user.name=load",
+                        "spring.security.user.password=load",
+                        "logging.level.root=WARN")
+                .run()) {
+            String base = "http://localhost:" + context.getEnvironment().getRequiredProperty("local.server.port");
+            Manager sessions = sessionManager(context);
+
+            // cu form login fiecare client are sesiunea lui pe server (SecurityContext + CSRF token)
+            long heapBefore = usedHeap();
+            for (int i = 0; i < CLIENTS; i++) {
+                LoadClients.formLogin(base, "load", "load");
+            }
+            long formSessions = sessions.getActiveSessions();
+            long formHeap = usedHeap() - heapBefore;
+            System.out.printf("form login: %d clients -> %d sessions, ~%d KB heap%n", CLIENTS, formSessions, formHeap / 1024);
+            assertTrue(formSessions >= CLIENTS);
+
+            // acelasi numar de clienti cu token: niciun request nu trebuie sa creeze sesiune
+            HttpClient client = HttpClient.newHttpClient();
+            String token = LoadClients.bearerToken(client, base, "load", "load");
+            long sessionsBefore = sessions.getSessionCounter();
+            LoadResult result = LoadDriver.closedLoop(client, Math.min(CLIENTS, 400), DURATION,
+                    () -> HttpRequest.newBuilder(URI.create(base + "/api/categories"))
+                            .header("Authorization", "Bearer " + token)
+                            .timeout(Duration.ofSeconds(30))
+                            .build());
+            System.out.println("bearer: " + result + ", new sessions: " + (sessions.getSessionCounter() - sessionsBefore));
+
+            assertEquals(sessionsBefore, sessions.getSessionCounter());
+            assertTrue(result.getErrors() <= result.getRequests() / 100, "bearer error rate above 1%");
+        }
+    }
+
+    private static Manager sessionManager(ConfigurableApplicationContext context) {
+        TomcatWebServer server = (TomcatWebServer) ((ServletWebServerApplicationContext) context).getWebServer();
+        Context webapp = (Context) server.getTomcat().getHost().findChildren()[0];
+        return webapp.getManager();
+    }
+
+    private static long usedHeap() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
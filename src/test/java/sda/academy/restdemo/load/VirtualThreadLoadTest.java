@@ -0,0 +1,86 @@
+package sda.academy.restdemo.load;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import sda.academy.restdemo.RestDemoApplication;
+import sda.academy.restdemo.model.Category;
+import sda.academy.restdemo.repository.CategoryRepository;
+import sda.academy.restdemo.service.ProductImportService;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Compara throughput-ul si p99 intre thread-uri platforma si virtual threads, cu mult mai multi clienti
+// concurenti decat thread-uri Tomcat si conexiuni in pool. Ruleaza cu: ./mvnw -Pload-test test
+@Tag("load")
+class VirtualThreadLoadTest {
+    private static final int PRODUCTS = 5_000;
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 400);
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("loadtest.seconds", 15));
+
+    @Test
+    void compareThreadModes() throws Exception {
+        LoadResult platform = run(false);
+        LoadResult virtual = run(true);
+
+        System.out.println("platform threads: " + platform);
+        System.out.println("virtual threads:  " + virtual);
+
+        assertTrue(platform.getRequests() > 0 && virtual.getRequests() > 0);
+        assertTrue(virtual.getErrors() <= virtual.getRequests() / 100, "virtual thread mode error rate above 1%");
+    }
+
+    private LoadResult run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(RestDemoApplication.class, LoadTestSecurityConfig.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.datasource.url=jdbc:h2:mem:threads-" + virtualThreads + ";DB_CLOSE_DELAY=-1",
+                        "spring.datasource.hikari.maximum-pool-size=10",
+                        "server.tomcat.threads.max=50",
+                        "logging.level.root=WARN")
+                .run()) {
+            seed(context);
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+            Supplier<HttpRequest> mix = () -> {
+                int pick = ThreadLocalRandom.current().nextInt(10);
+                String path = pick < 6 ? "/api/products/" + (1 + ThreadLocalRandom.current().nextInt(PRODUCTS))
+                        : pick < 9 ? "/api/products?limit=20&sort=price"
+                        : "/api/categories/summary";
+                return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                        .timeout(Duration.ofSeconds(30))
+                        .build();
+            };
+
+            LoadDriver.closedLoop(client, CLIENTS, Duration.ofSeconds(3), mix); // incalzire
+            return LoadDriver.closedLoop(client, CLIENTS, DURATION, mix);
+        }
+    }
+
+    private static void seed(ConfigurableApplicationContext context) throws Exception {
+        Category category = new Category();
+        category.setName("load");
+        int categoryId = context.getBean(CategoryRepository.class).save(category).getId();
+
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < PRODUCTS; i++) {
+            ndjson.append("{\"name\":\"product-").append(i).append("\",\"price\":").append(1 + i % 500)
+                    .append(",\"category\":{\"id\":").append(categoryId).append("}}\n");
+        }
+        context.getBean(ProductImportService.class)
+                .importProducts(new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+}
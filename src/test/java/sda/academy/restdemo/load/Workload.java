@@ -0,0 +1,39 @@
+package sda.academy.restdemo.load;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+// Mix de operatii cu ponderi. Fiecare operatie are clientul ei HTTP (ex. cu cookie de sesiune pentru view-uri)
+// si construieste un request nou la fiecare sosire.
+public final class Workload {
+    private final List<Operation> operations = new ArrayList<>();
+    private int totalWeight;
+
+    public Workload add(String name, int weight, HttpClient client, Supplier<HttpRequest> request) {
+        operations.add(new Operation(name, weight, client, request));
+        totalWeight += weight;
+        return this;
+    }
+
+    List<Operation> operations() {
+        return operations;
+    }
+
+    Operation pick() {
+        int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Operation operation : operations) {
+            roll -= operation.weight();
+            if (roll < 0) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException("empty workload");
+    }
+
+    record Operation(String name, int weight, HttpClient client, Supplier<HttpRequest> request) {
+    }
+}
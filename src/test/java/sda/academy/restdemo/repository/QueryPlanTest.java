@@ -0,0 +1,305 @@
+package sda.academy.restdemo.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sda.academy.restdemo.model.Category;
+import sda.academy.restdemo.model.Product;
+import sda.academy.restdemo.service.ProductImportService;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Ruleaza fiecare interogare din ProductRepository / CategoryRepository pe un catalog mare, inregistreaza SQL-ul
+// generat de Hibernate (cu parametrii lui) si cere planul H2 cu EXPLAIN. Testul pica daca o tabela e citita
+// integral (tableScan), in afara de citirile complete facute intentionat (export, liste fara filtru).
+// O metoda noua in repository fara caz aici face sa pice coveredEveryRepositoryQuery.
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(QueryPlanTest.RecordingConfig.class)
+class QueryPlanTest {
+    private static final int CATEGORIES = 200;
+    private static final int PRODUCTS = 20_000;
+    private static final Pattern TABLE_SCAN = Pattern.compile("PUBLIC\\.(\\w+)\\.tableScan");
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    ProductImportService productImportService;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    DataSource dataSource;
+
+    int firstCategory;
+    List<Integer> someProductIds;
+
+    // o interogare din repository, apelata cu argumente realiste, si tabelele pe care are voie sa le citeasca integral
+    record Case(String name, Consumer<QueryPlanTest> query, Set<String> fullScanAllowed) {
+    }
+
+    static final List<Case> CASES = List.of(
+            // citiri complete intentionate: tot catalogul, paginare cu offset (view-ul HTML), liste de categorii
+            new Case("ProductRepository.findAllWithCategory", t -> t.productRepository.findAllWithCategory(), Set.of("PRODUCT")),
+            new Case("ProductRepository.findViewPage", t -> t.productRepository.findViewPage(PageRequest.of(3, 50)), Set.of("PRODUCT")),
+            new Case("ProductRepository.streamAllForExport", t -> {
+                try (Stream<Product> products = t.productRepository.streamAllForExport()) {
+                    products.limit(10).count();
+                }
+            }, Set.of("PRODUCT")),
+            new Case("ProductRepository.streamNames", t -> {
+                try (var names = t.productRepository.streamNames()) {
+                    names.limit(10).count();
+                }
+            }, Set.of("PRODUCT")),
+            new Case("CategoryRepository.findAllWithProducts", t -> t.categoryRepository.findAllWithProducts(), Set.of("CATEGORY")),
+            new Case("CategoryRepository.findAllSummaries", t -> t.categoryRepository.findAllSummaries(), Set.of("CATEGORY")),
+            new Case("CategoryRepository.findSummaryPage", t -> t.categoryRepository.findSummaryPage(PageRequest.of(1, 50)), Set.of("CATEGORY")),
+            new Case("CategoryRepository.findAllOptions", t -> t.categoryRepository.findAllOptions(), Set.of("CATEGORY")),
+
+            // restul trebuie sa foloseasca indexuri
+            new Case("ProductRepository.clearCategoryByCategoryID", t -> t.productRepository.clearCategoryByCategoryID(t.firstCategory + 7), Set.of()),
+            new Case("ProductRepository.findPageOrderById", t -> t.productRepository.findPageOrderById(t.someProductIds.get(3), PageRequest.of(0, 51)), Set.of()),
+            new Case("ProductRepository.findPageOrderByPrice", t -> t.productRepository.findPageOrderByPrice(250, t.someProductIds.get(3), PageRequest.of(0, 51)), Set.of()),
+            new Case("ProductRepository.findPageOrderByName", t -> t.productRepository.findPageOrderByName("product-12345", t.someProductIds.get(3), PageRequest.of(0, 51)), Set.of()),
+            new Case("ProductRepository.findByIdInOrderById", t -> t.productRepository.findByIdInOrderById(t.someProductIds), Set.of()),
+            new Case("ProductRepository.findCategoryFacets", t -> t.productRepository.findCategoryFacets(10, 20), Set.of()),
+            new Case("ProductRepository.findVersionById", t -> t.productRepository.findVersionById(t.someProductIds.get(0)), Set.of()),
+            new Case("ProductRepository.findIdsForDeletion", t -> t.productRepository.findIdsForDeletion(t.firstCategory + 3, 100.0, 0, PageRequest.of(0, 500)), Set.of()),
+            new Case("ProductRepository.deleteByIdIn", t -> t.productRepository.deleteByIdIn(t.someProductIds), Set.of()),
+            new Case("ProductRepository.countByCategoryId", t -> t.productRepository.countByCategoryId(t.firstCategory + 5), Set.of()),
+            new Case("ProductRepository.findIdsByCategory", t -> t.productRepository.findIdsByCategory(t.firstCategory + 5, 0, PageRequest.of(0, 1000)), Set.of()),
+            new Case("ProductRepository.clearCategory", t -> t.productRepository.clearCategory(t.someProductIds, t.firstCategory), Set.of()),
+            new Case("ProductRepository.moveToCategory", t -> t.productRepository.moveToCategory(t.someProductIds, t.firstCategory,
+                    t.categoryRepository.getReferenceById(t.firstCategory + 1)), Set.of()),
+            new Case("ProductRepository.patch", t -> t.productRepository.patch(t.someProductIds.get(0), "renamed", 42.0, null, 0L), Set.of()),
+            new Case("ProductRepository.findBy(filter)", t -> t.productRepository.findBy(
+                    Specification.where(ProductSpecifications.fetchCategory())
+                            .and(ProductSpecifications.inCategory(t.firstCategory + 9))
+                            .and(ProductSpecifications.priceAtLeast(50.0))
+                            .and(ProductSpecifications.priceAtMost(150.0))
+                            .and(ProductSpecifications.idAfter(0)),
+                    query -> query.sortBy(Sort.by("id")).limit(51).all()), Set.of()),
+            new Case("CategoryRepository.findOptionsByIdIn", t -> t.categoryRepository.findOptionsByIdIn(List.of(t.firstCategory, t.firstCategory + 1)), Set.of()),
+            new Case("CategoryRepository.findExistingIds", t -> t.categoryRepository.findExistingIds(List.of(t.firstCategory, t.firstCategory + 1)), Set.of()),
+            new Case("CategoryRepository.findVersionById", t -> t.categoryRepository.findVersionById(t.firstCategory), Set.of())
+    );
+
+    @BeforeEach
+    void seed() throws Exception {
+        if (categoryRepository.count() == 0) {
+            for (int i = 0; i < CATEGORIES; i++) {
+                Category category = new Category();
+                category.setName("category-" + i);
+                int id = categoryRepository.save(category).getId();
+                firstCategory = i == 0 ? id : firstCategory;
+            }
+            StringBuilder ndjson = new StringBuilder();
+            for (int i = 0; i < PRODUCTS; i++) {
+                ndjson.append("{\"name\":\"product-").append(i).append("\",\"price\":").append(1 + i % 500)
+                        .append(",\"category\":{\"id\":").append(firstCategory + i % CATEGORIES).append("}}\n");
+            }
+            productImportService.importProducts(new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)));
+            // statistici de selectivitate pentru optimizatorul H2, ca pe o baza de date reala
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE");
+            }
+        }
+        firstCategory = categoryRepository.findAll(Sort.by("id")).get(0).getId();
+        someProductIds = productRepository.findPageOrderById(0, PageRequest.of(0, 500)).stream()
+                .map(Product::getId)
+                .filter(id -> id % 97 == 0)
+                .limit(10)
+                .toList();
+        assertFalse(someProductIds.isEmpty());
+    }
+
+    @TestFactory
+    Stream<DynamicTest> queriesUseIndexes() {
+        return CASES.stream().map(testCase -> DynamicTest.dynamicTest(testCase.name(), () -> {
+            List<RecordedStatement> statements = record(testCase);
+            assertFalse(statements.isEmpty(), "no SQL recorded for " + testCase.name());
+
+            for (RecordedStatement statement : statements) {
+                String plan = explain(statement);
+                Set<String> scanned = new TreeSet<>();
+                Matcher matcher = TABLE_SCAN.matcher(plan);
+                while (matcher.find()) {
+                    scanned.add(matcher.group(1));
+                }
+                scanned.removeAll(testCase.fullScanAllowed());
+                assertTrue(scanned.isEmpty(), testCase.name() + " scans " + scanned + ":\n" + plan);
+            }
+        }));
+    }
+
+    @Test
+    void coveredEveryRepositoryQuery() {
+        Set<String> covered = CASES.stream().map(Case::name).collect(Collectors.toSet());
+        Set<String> missing = new TreeSet<>();
+        for (Class<?> repository : List.of(ProductRepository.class, ProductRepositoryCustom.class, CategoryRepository.class)) {
+            String owner = repository == ProductRepositoryCustom.class ? "ProductRepository" : repository.getSimpleName();
+            Arrays.stream(repository.getDeclaredMethods())
+                    .filter(method -> !method.isSynthetic() && !method.isDefault() && !Modifier.isStatic(method.getModifiers()))
+                    .map(method -> owner + "." + method.getName())
+                    .filter(name -> !covered.contains(name))
+                    .forEach(missing::add);
+        }
+        assertEquals(Set.of(), missing, "repository queries without a plan check");
+    }
+
+    // interogarea ruleaza intr-o tranzactie anulata la final, ca UPDATE/DELETE sa nu schimbe datele celorlalte cazuri
+    private List<RecordedStatement> record(Case testCase) {
+        RecordingDataSource.start();
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                testCase.query().accept(this);
+                status.setRollbackOnly();
+            });
+        } finally {
+            RecordingDataSource.stop();
+        }
+        return RecordingDataSource.statements().stream()
+                .filter(statement -> statement.sql().matches("(?is)^\\s*(select|update|delete|with)\\b.*"))
+                .toList();
+    }
+
+    private String explain(RecordedStatement statement) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement explain = connection.prepareStatement("EXPLAIN " + statement.sql())) {
+            for (Map.Entry<Integer, Object> parameter : statement.parameters().entrySet()) {
+                explain.setObject(parameter.getKey(), parameter.getValue());
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rows = explain.executeQuery()) {
+                while (rows.next()) {
+                    plan.append(rows.getString(1)).append('\n');
+                }
+            }
+            return plan.toString();
+        }
+    }
+
+    record RecordedStatement(String sql, Map<Integer, Object> parameters) {
+    }
+
+    // DataSource-ul aplicatiei, invelit ca sa retina SQL-ul si parametrii fiecarui PreparedStatement
+    @TestConfiguration
+    static class RecordingConfig {
+        @Bean
+        static BeanPostProcessor recordingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource && "dataSource".equals(beanName)
+                            ? new RecordingDataSource(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    static class RecordingDataSource extends DelegatingDataSource {
+        private static final List<RecordedStatement> STATEMENTS = new ArrayList<>();
+        private static volatile boolean recording;
+
+        RecordingDataSource(DataSource target) {
+            super(target);
+        }
+
+        static synchronized void start() {
+            STATEMENTS.clear();
+            recording = true;
+        }
+
+        static void stop() {
+            recording = false;
+        }
+
+        static synchronized List<RecordedStatement> statements() {
+            return List.copyOf(STATEMENTS);
+        }
+
+        @Override
+        public Connection getConnection() throws java.sql.SQLException {
+            Connection target = super.getConnection();
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        Object result = invoke(target, method, args);
+                        if (recording && "prepareStatement".equals(method.getName()) && result instanceof PreparedStatement statement) {
+                            return recordingStatement(statement, (String) args[0]);
+                        }
+                        return result;
+                    });
+        }
+
+        private static PreparedStatement recordingStatement(PreparedStatement target, String sql) {
+            Map<Integer, Object> parameters = new TreeMap<>();
+            synchronized (RecordingDataSource.class) {
+                STATEMENTS.add(new RecordedStatement(sql, parameters));
+            }
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(), new Class<?>[]{PreparedStatement.class},
+                    (proxy, method, args) -> {
+                        // setInt(1, x), setString(2, y), setNull(3, type)... ; setFetchSize(n) etc. au un singur argument
+                        if (method.getName().startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                            parameters.put(index, "setNull".equals(method.getName()) ? null : args[1]);
+                        }
+                        return invoke(target, method, args);
+                    });
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package sda.academy.restdemo.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// O baza de date creata inainte de migrari (ddl-auto=update, doar PRODUCT si CATEGORY) trebuie completata
+// de V1 si apoi indexata de V2, cu aceeasi configurare de baseline ca in application.properties.
+class SchemaMigrationTest {
+
+    @Test
+    void migratesDatabaseCreatedByHibernateUpdate() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:legacy-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        // schema lasata de versiunea dinaintea migrarilor
+        jdbc.execute("create sequence product_seq start with 1 increment by 50");
+        jdbc.execute("create table category (id integer generated by default as identity, name varchar(255), primary key (id))");
+        jdbc.execute("create table product (id integer not null, name varchar(255), price float(53) not null, "
+                + "category_id integer, primary key (id), "
+                + "constraint fk_product_category foreign key (category_id) references category (id) on delete set null)");
+        jdbc.execute("insert into category (name) values ('Books')");
+        jdbc.execute("insert into product (id, name, price, category_id) values (1, 'Old', 10, 1), (402, 'Newest', 20, null)");
+
+        Flyway.configure()
+                .dataSource(dataSource)
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load()
+                .migrate();
+
+        assertEquals(0L, jdbc.queryForObject("select version from product where id = 1", Long.class));
+        assertEquals(0L, jdbc.queryForObject("select version from category where id = 1", Long.class));
+        assertEquals(0, jdbc.queryForObject("select count(*) from category_removal_job", Integer.class));
+        assertEquals(0, jdbc.queryForObject("select count(*) from change_log_entry", Integer.class));
+        assertEquals(0, jdbc.queryForObject("select count(*) from change_log_counter", Integer.class));
+        assertEquals(1, jdbc.queryForObject("select count(*) from information_schema.indexes "
+                + "where table_name = 'PRODUCT' and index_name = 'IDX_PRODUCT_PRICE_ID'", Integer.class));
+        // urmatorul bloc de 50 de id-uri alocat de Hibernate incepe dupa cel mai mare id existent
+        long next = jdbc.queryForObject("select next value for product_seq", Long.class);
+        assertTrue(next - 49 > 402, "sequence block starts at " + (next - 49));
+    }
+}
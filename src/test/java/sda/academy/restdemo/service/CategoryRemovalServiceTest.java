@@ -0,0 +1,185 @@
+package sda.academy.restdemo.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+import sda.academy.restdemo.exception.CategoryNotFoundException;
+import sda.academy.restdemo.model.Category;
+import sda.academy.restdemo.model.CategoryRemovalJob;
+import sda.academy.restdemo.model.Product;
+import sda.academy.restdemo.repository.CategoryRemovalJobRepository;
+import sda.academy.restdemo.repository.CategoryRepository;
+import sda.academy.restdemo.repository.ProductRepository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+// bucati mici, ca si un set mic de produse sa treaca prin mai multe tranzactii
+@SpringBootTest(properties = "catalog.category-removal.chunk-size=7")
+@ActiveProfiles("test")
+class CategoryRemovalServiceTest {
+    private static final int PRODUCTS = 30;
+
+    @Autowired
+    CategoryRemovalService categoryRemovalService;
+
+    @Autowired
+    CategoryRemovalJobRepository jobRepository;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @AfterEach
+    void cleanUp() {
+        jobRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        categoryRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void clearsCategoryInChunksAndDeletesIt() throws InterruptedException {
+        Category removed = category("old");
+        List<Integer> productIds = products(removed);
+
+        CategoryRemovalJob job = categoryRemovalService.start(removed.getId(), null);
+        CategoryRemovalJob finished = awaitFinished(job.getId());
+
+        assertEquals(CategoryRemovalJob.Status.COMPLETED, finished.getStatus());
+        assertEquals(PRODUCTS, finished.getProductsTotal());
+        assertEquals(PRODUCTS, finished.getProductsMoved());
+        assertFalse(categoryRepository.existsById(removed.getId()));
+        assertTrue(productRepository.findAllById(productIds).stream().allMatch(p -> p.getCategory() == null));
+    }
+
+    @Test
+    void reassignsProductsToTargetCategory() throws InterruptedException {
+        Category removed = category("old");
+        Category target = category("new");
+        products(removed);
+
+        CategoryRemovalJob job = categoryRemovalService.start(removed.getId(), target.getId());
+
+        assertEquals(CategoryRemovalJob.Status.COMPLETED, awaitFinished(job.getId()).getStatus());
+        assertEquals(PRODUCTS, productRepository.countByCategoryId(target.getId()));
+    }
+
+    @Test
+    void resumesInterruptedJobFromCheckpoint() throws InterruptedException {
+        Category removed = category("old");
+        List<Integer> productIds = products(removed);
+
+        // job lasat RUNNING de o instanta oprita dupa prima bucata
+        CategoryRemovalJob interrupted = new CategoryRemovalJob();
+        interrupted.setCategoryId(removed.getId());
+        interrupted.setStatus(CategoryRemovalJob.Status.RUNNING);
+        interrupted.setProductsTotal(PRODUCTS);
+        interrupted.setLastProductId(productIds.get(6));
+        interrupted.setCreatedAt(Instant.now());
+        interrupted = jobRepository.save(interrupted);
+
+        categoryRemovalService.resumeUnfinishedJobs();
+
+        assertEquals(CategoryRemovalJob.Status.COMPLETED, awaitFinished(interrupted.getId()).getStatus());
+        assertFalse(categoryRepository.existsById(removed.getId()));
+        assertEquals(0, productRepository.countByCategoryId(removed.getId()));
+    }
+
+    // baza de date accepta un singur job activ per categorie, chiar daca verificarea din start() e ocolita
+    @Test
+    void secondActiveJobForSameCategoryIsRejectedBySchema() {
+        Category removed = category("old");
+        jobRepository.save(activeJob(removed.getId()));
+
+        assertThrows(DataIntegrityViolationException.class, () -> jobRepository.save(activeJob(removed.getId())));
+    }
+
+    @Test
+    void concurrentStartsCreateOneJob() throws Exception {
+        Category removed = category("old");
+        products(removed);
+        int requests = 8;
+        CyclicBarrier barrier = new CyclicBarrier(requests);
+        ExecutorService executor = Executors.newFixedThreadPool(requests);
+        List<Future<CategoryRemovalJob>> results = new ArrayList<>();
+        for (int i = 0; i < requests; i++) {
+            results.add(executor.submit(() -> {
+                barrier.await();
+                return categoryRemovalService.start(removed.getId(), null);
+            }));
+        }
+        executor.shutdown();
+
+        int started = 0;
+        for (Future<CategoryRemovalJob> result : results) {
+            try {
+                awaitFinished(result.get().getId());
+                started++;
+            } catch (ExecutionException e) {
+                // 409 daca jobul e inca activ, 404 daca a apucat deja sa stearga categoria
+                assertTrue(e.getCause() instanceof CategoryNotFoundException
+                        || e.getCause() instanceof ResponseStatusException conflict
+                        && conflict.getStatusCode() == HttpStatus.CONFLICT, e.getCause().toString());
+            }
+        }
+        assertEquals(1, started);
+        assertEquals(1, jobRepository.count());
+    }
+
+    private static CategoryRemovalJob activeJob(int categoryId) {
+        CategoryRemovalJob job = new CategoryRemovalJob();
+        job.setCategoryId(categoryId);
+        job.setStatus(CategoryRemovalJob.Status.PENDING);
+        job.setCreatedAt(Instant.now());
+        return job;
+    }
+
+    private CategoryRemovalJob awaitFinished(long jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            CategoryRemovalJob job = jobRepository.findById(jobId).orElseThrow();
+            if (job.getStatus().isFinished()) {
+                return job;
+            }
+            Thread.sleep(20);
+        }
+        return fail("Job " + jobId + " did not finish");
+    }
+
+    private Category category(String name) {
+        Category category = new Category();
+        category.setName(name);
+        return categoryRepository.save(category);
+    }
+
+    private List<Integer> products(Category category) {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            Product product = new Product();
+            product.setName("product-" + i);
+            product.setPrice(10);
+            product.setCategory(category);
+            products.add(product);
+        }
+        return productRepository.saveAll(products).stream().map(Product::getId).sorted().toList();
+    }
+}
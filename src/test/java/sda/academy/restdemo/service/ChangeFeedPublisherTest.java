@@ -0,0 +1,122 @@
+package sda.academy.restdemo.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+import sda.academy.restdemo.model.ChangeLogEntry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// un client care recupereaza un backlog vechi (sau a ramas in spatele compactarii)
+// nu trebuie sa intarzie livrarea pentru clientii la zi
+class ChangeFeedPublisherTest {
+    private static final long HEAD = 1000;
+
+    StubChangeLog changeLog;
+    ChangeFeedPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        changeLog = new StubChangeLog();
+        publisher = new ChangeFeedPublisher();
+        ReflectionTestUtils.setField(publisher, "changeLogService", changeLog);
+        ReflectionTestUtils.setField(publisher, "timeoutMillis", 60_000L);
+        ReflectionTestUtils.setField(publisher, "sendExecutor", (Executor) Runnable::run);
+    }
+
+    @Test
+    void laggingSubscriberDoesNotHoldBackLiveDelivery() {
+        publisher.subscribe(HEAD);
+        publisher.subscribe(HEAD);
+        publisher.subscribe(10);
+        changeLog.head = HEAD + 1;
+        changeLog.calls.clear();
+
+        publisher.poll();
+        // clientii la zi impart o interogare de la head si primesc intrarea noua imediat,
+        // iar clientul in urma isi citeste separat urmatorul batch (11..510 l-a primit la subscribe)
+        assertEquals(List.of(510L, HEAD), changeLog.calls);
+
+        changeLog.calls.clear();
+        publisher.poll();
+        // dupa ce a recuperat, e la acelasi cursor cu ceilalti: o singura interogare
+        assertEquals(List.of(HEAD + 1), changeLog.calls);
+    }
+
+    @Test
+    void onlyCompactedSubscriberIsToldToReload() {
+        publisher.subscribe(HEAD);
+        publisher.subscribe(10);
+        changeLog.compactedUpTo = 600;
+        changeLog.head = HEAD + 1;
+        changeLog.calls.clear();
+
+        publisher.poll();
+        assertEquals(List.of(510L, HEAD), changeLog.calls);
+
+        changeLog.calls.clear();
+        publisher.poll();
+        // clientul compactat a primit "gone" si a fost scos; celalalt continua de la noua pozitie
+        assertEquals(List.of(HEAD + 1), changeLog.calls);
+    }
+
+    // un client care nu citeste de pe socket nu blocheaza poll-ul: trimiterea e pe alt thread,
+    // iar clientul nu primeste o a doua livrare cat timp prima e in curs
+    @Test
+    void slowSubscriberDoesNotBlockThePoll() {
+        List<Runnable> pending = new ArrayList<>();
+        ReflectionTestUtils.setField(publisher, "sendExecutor", (Executor) pending::add);
+        publisher.subscribe(HEAD);
+        changeLog.head = HEAD + 1;
+        changeLog.calls.clear();
+
+        publisher.poll();
+        assertEquals(List.of(HEAD), changeLog.calls);
+        assertEquals(1, pending.size());
+
+        // livrarea e inca in curs: clientul e sarit, fara interogare si fara alta livrare in coada
+        changeLog.head = HEAD + 2;
+        changeLog.calls.clear();
+        publisher.poll();
+        assertEquals(List.of(), changeLog.calls);
+        assertEquals(1, pending.size());
+
+        // dupa ce livrarea se termina, continua de la intrarea trimisa
+        pending.remove(0).run();
+        publisher.poll();
+        assertEquals(List.of(HEAD + 1), changeLog.calls);
+        assertEquals(1, pending.size());
+    }
+
+    static class StubChangeLog extends ChangeLogService {
+        final List<Long> calls = new ArrayList<>();
+        long head = HEAD;
+        long compactedUpTo;
+
+        @Override
+        public List<ChangeLogEntry> entriesAfter(long since, int limit) {
+            calls.add(since);
+            if (since < compactedUpTo) {
+                throw new ResponseStatusException(HttpStatus.GONE);
+            }
+            return LongStream.rangeClosed(since + 1, Math.min(head, since + limit))
+                    .mapToObj(StubChangeLog::entry)
+                    .toList();
+        }
+
+        private static ChangeLogEntry entry(long seq) {
+            ChangeLogEntry entry = new ChangeLogEntry();
+            entry.setSeq(seq);
+            entry.setType(ChangeLogEntry.Type.PRODUCT_UPSERTED);
+            entry.setEntityIds("1");
+            return entry;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package sda.academy.restdemo.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import sda.academy.restdemo.dto.ChangeFeed;
+import sda.academy.restdemo.model.ChangeLogEntry;
+import sda.academy.restdemo.model.Product;
+import sda.academy.restdemo.repository.CategoryRepository;
+import sda.academy.restdemo.repository.ProductRepository;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ChangeLogServiceTest {
+
+    @Autowired
+    ChangeLogService changeLogService;
+
+    @Autowired
+    ProductService productService;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void cleanUp() {
+        productRepository.deleteAllInBatch();
+        categoryRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void feedContainsOnlyChangesAfterSinceWithCurrentState() {
+        long head = changeLogService.head();
+        Product kept = productService.createProduct(product("kept"));
+        Product removed = productService.createProduct(product("removed"));
+        kept.setName("kept v2");
+        productService.updateProduct(kept.getId(), kept);
+        productService.deleteProductById(removed.getId());
+
+        ChangeFeed feed = changeLogService.getChanges(head, 100);
+
+        assertEquals(List.of(ChangeLogEntry.Type.PRODUCT_UPSERTED, ChangeLogEntry.Type.PRODUCT_UPSERTED,
+                        ChangeLogEntry.Type.PRODUCT_UPSERTED, ChangeLogEntry.Type.PRODUCT_DELETED),
+                feed.getChanges().stream().map(ChangeLogEntry::getType).toList());
+        assertEquals(head + 4, feed.getNextSince());
+        // produsul sters nu mai apare in stare, cel modificat apare cu valorile curente
+        assertEquals(1, feed.getProducts().size());
+        assertEquals("kept v2", feed.getProducts().get(0).getName());
+        assertTrue(changeLogService.getChanges(feed.getNextSince(), 100).getChanges().isEmpty());
+    }
+
+    @Test
+    void pagesThroughTheFeed() {
+        long head = changeLogService.head();
+        for (int i = 0; i < 5; i++) {
+            productService.createProduct(product("p" + i));
+        }
+
+        ChangeFeed first = changeLogService.getChanges(head, 3);
+        ChangeFeed second = changeLogService.getChanges(first.getNextSince(), 3);
+
+        assertEquals(3, first.getChanges().size());
+        assertTrue(first.isHasMore());
+        assertEquals(2, second.getChanges().size());
+        assertEquals(head + 5, second.getNextSince());
+    }
+
+    @Test
+    void rolledBackTransactionLeavesNoEntry() {
+        long head = changeLogService.head();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            changeLogService.record(ChangeLogEntry.Type.PRODUCT_DELETED, 42);
+            status.setRollbackOnly();
+        });
+
+        assertEquals(head, changeLogService.head());
+    }
+
+    @Test
+    void compactedRangeIsGone() {
+        long head = changeLogService.head();
+        productService.createProduct(product("old"));
+        changeLogService.compactBefore(Instant.now().plusSeconds(1));
+
+        ResponseStatusException gone = assertThrows(ResponseStatusException.class,
+                () -> changeLogService.getChanges(head, 100));
+        assertEquals(HttpStatus.GONE, gone.getStatusCode());
+        // de la head inainte se poate sincroniza in continuare
+        assertTrue(changeLogService.getChanges(changeLogService.head(), 100).getChanges().isEmpty());
+    }
+
+    private static Product product(String name) {
+        Product product = new Product();
+        product.setName(name);
+        product.setPrice(10);
+        return product;
+    }
+}
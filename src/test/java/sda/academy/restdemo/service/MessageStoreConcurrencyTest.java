@@ -0,0 +1,141 @@
+package sda.academy.restdemo.service;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.junit.jupiter.api.Test;
+import sda.academy.restdemo.model.Message;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MessageStoreConcurrencyTest {
+    private static final int THREADS = 16;
+    private static final int OPERATIONS_PER_THREAD = 20_000;
+    private static final int KEY_SPACE = 1_000;
+
+    @Test
+    void concurrentAddUpdateDeleteKeepsStoreConsistent() throws Exception {
+        MessageStore store = new MessageStore(100_000, Duration.ofHours(1), Ticker.systemTicker());
+        AtomicLong added = new AtomicLong();
+        AtomicLong deleted = new AtomicLong();
+
+        runConcurrently(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                int id = 1 + random.nextInt(KEY_SPACE);
+                switch (random.nextInt(3)) {
+                    case 0 -> {
+                        if (store.addMessage(message(id, "added"))) {
+                            added.incrementAndGet();
+                        }
+                    }
+                    case 1 -> store.updateMessage(id, message(0, "updated " + Thread.currentThread().getName()));
+                    default -> {
+                        if (store.deleteMessage(id) != null) {
+                            deleted.incrementAndGet();
+                        }
+                    }
+                }
+            }
+            return null;
+        });
+
+        // fiecare add reusit si fiecare delete reusit trebuie sa se regaseasca exact in continutul final
+        List<Message> remaining = store.findAll();
+        assertEquals(added.get() - deleted.get(), remaining.size());
+        for (Message message : remaining) {
+            assertEquals(message, store.findById(message.getId()), "entry stored under a different key");
+            assertNotNull(message.getContentOfMessage());
+        }
+    }
+
+    @Test
+    void generatedIdsAreUniqueUnderContention() throws Exception {
+        MessageStore store = new MessageStore(100_000, Duration.ofHours(1), Ticker.systemTicker());
+        Set<Integer> ids = ConcurrentHashMap.newKeySet();
+
+        runConcurrently(() -> {
+            for (int i = 0; i < 1_000; i++) {
+                Message message = message(0, "generated");
+                assertTrue(store.addMessage(message));
+                assertTrue(ids.add(message.getId()), "duplicate id " + message.getId());
+            }
+            return null;
+        });
+
+        assertEquals(THREADS * 1_000, ids.size());
+        assertEquals(THREADS * 1_000L, store.size());
+    }
+
+    @Test
+    void capacityIsBoundedUnderConcurrentWrites() throws Exception {
+        MessageStore store = new MessageStore(500, Duration.ofHours(1), Ticker.systemTicker());
+
+        runConcurrently(() -> {
+            for (int i = 0; i < 5_000; i++) {
+                store.addMessage(message(0, "bounded"));
+            }
+            return null;
+        });
+
+        assertTrue(store.size() <= 500, "size " + store.size() + " exceeds capacity");
+    }
+
+    @Test
+    void entriesExpireAfterTtl() {
+        AtomicLong nanos = new AtomicLong();
+        MessageStore store = new MessageStore(100, Duration.ofSeconds(10), nanos::get);
+
+        store.addMessage(message(1, "short lived"));
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        store.updateMessage(1, message(0, "refreshed")); // scrierea reporneste ttl-ul
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(9));
+        assertNotNull(store.findById(1));
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        assertNull(store.findById(1));
+        assertEquals(0, store.size());
+    }
+
+    private static void runConcurrently(Callable<Void> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            for (Future<Void> future : futures) {
+                future.get(60, TimeUnit.SECONDS); // arunca mai departe orice exceptie din thread
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Message message(int id, String content) {
+        Message message = new Message();
+        message.setId(id);
+        message.setContentOfMessage(content);
+        return message;
+    }
+}
@@ -0,0 +1,113 @@
+package sda.academy.restdemo.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+import sda.academy.restdemo.dto.BulkDeleteRequest;
+import sda.academy.restdemo.exception.ProductNotFoundException;
+import sda.academy.restdemo.model.Category;
+import sda.academy.restdemo.model.Product;
+import sda.academy.restdemo.repository.CategoryRepository;
+import sda.academy.restdemo.repository.ProductRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ProductBulkDeleteServiceTest {
+
+    @Autowired
+    ProductBulkDeleteService productBulkDeleteService;
+
+    @Autowired
+    ProductService productService;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @AfterEach
+    void cleanUp() {
+        productRepository.deleteAllInBatch();
+        categoryRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void deletesByIdsInChunksAndIgnoresMissingIds() {
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            ids.add(productRepository.save(product("p" + i, 10, null)).getId());
+        }
+        List<Integer> toDelete = new ArrayList<>(ids.subList(0, 1100));
+        toDelete.add(-1);
+
+        BulkDeleteRequest request = new BulkDeleteRequest();
+        request.setIds(toDelete);
+
+        assertEquals(1100, productBulkDeleteService.deleteProducts(request).getDeleted());
+        assertEquals(100, productRepository.count());
+    }
+
+    @Test
+    void deletesByCategoryAndPriceAndEvictsCache() {
+        Category category = new Category();
+        category.setName("Cables");
+        category = categoryRepository.save(category);
+        Product cheap = productService.createProduct(product("cheap cable", 2, category)); // si in indexul de cautare
+        Product expensive = productRepository.save(product("gold cable", 200, category));
+        Product other = productRepository.save(product("cheap phone", 2, null));
+        productService.getProductById(cheap.getId()); // pus in cache
+
+        BulkDeleteRequest request = new BulkDeleteRequest();
+        request.setCategoryId(category.getId());
+        request.setPriceBelow(10.0);
+
+        assertEquals(1, productBulkDeleteService.deleteProducts(request).getDeleted());
+        assertTrue(productRepository.existsById(expensive.getId()));
+        assertTrue(productRepository.existsById(other.getId()));
+        assertThrows(ProductNotFoundException.class, () -> productService.getProductById(cheap.getId()));
+        assertTrue(productService.searchProducts("cheap", 10).stream().noneMatch(p -> p.getId() == cheap.getId()));
+    }
+
+    @Test
+    void rejectsEmptyOrAmbiguousRequests() {
+        assertThrows(ResponseStatusException.class, () -> productBulkDeleteService.deleteProducts(new BulkDeleteRequest()));
+
+        BulkDeleteRequest both = new BulkDeleteRequest();
+        both.setIds(List.of(1));
+        both.setCategoryId(1);
+        assertThrows(ResponseStatusException.class, () -> productBulkDeleteService.deleteProducts(both));
+    }
+
+    // {"ids":[1,null]} e o cerere gresita (400), nu o eroare a serverului
+    @Test
+    void rejectsNullIds() {
+        Product kept = productRepository.save(product("kept", 10, null));
+        BulkDeleteRequest request = new BulkDeleteRequest();
+        request.setIds(Arrays.asList(kept.getId(), null));
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> productBulkDeleteService.deleteProducts(request));
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+        assertTrue(productRepository.existsById(kept.getId()));
+    }
+
+    private static Product product(String name, double price, Category category) {
+        Product product = new Product();
+        product.setName(name);
+        product.setPrice(price);
+        product.setCategory(category);
+        return product;
+    }
+}
@@ -0,0 +1,129 @@
+package sda.academy.restdemo.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import sda.academy.restdemo.dto.BulkImportResult;
+import sda.academy.restdemo.model.Product;
+import sda.academy.restdemo.model.Category;
+import sda.academy.restdemo.repository.CategoryRepository;
+import sda.academy.restdemo.repository.ProductRepository;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ProductImportServiceTest {
+
+    @Autowired
+    ProductImportService productImportService;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @AfterEach
+    void cleanUp() {
+        productRepository.deleteAllInBatch();
+        categoryRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void reportsErrorsPerRowAndImportsTheRest() throws IOException {
+        int categoryId = categoryRepository.save(category("Phones")).getId();
+        String body = "{\"name\":\"ok\",\"price\":10,\"category\":{\"id\":" + categoryId + "}}\n"
+                + "{\"name\":\"\",\"price\":10}\n"
+                + "{\"name\":\"no category\",\"price\":10,\"category\":{\"id\":999999}}\n"
+                + "{\"name\":\"bad price\",\"price\":\"abc\"}\n"
+                + "{\"name\":\"no category at all\",\"price\":5}\n";
+
+        BulkImportResult result = productImportService.importProducts(stream(body));
+
+        assertEquals(5, result.getReceived());
+        assertEquals(2, result.getImported());
+        assertEquals(3, result.getErrors().size());
+        assertEquals(1, result.getErrors().get(0).getRow());
+        assertEquals(3, result.getErrors().get(1).getRow());
+        assertEquals(2, result.getErrors().get(2).getRow());
+        assertEquals(2, productRepository.count());
+    }
+
+    // un nume mai lung decat coloana (varchar 255) e eroare de rand, nu rollback pe tot importul
+    @Test
+    void reportsOversizedNameAsRowError() throws IOException {
+        String body = "{\"name\":\"first\",\"price\":10}\n"
+                + "{\"name\":\"" + "x".repeat(256) + "\",\"price\":10}\n"
+                + "{\"name\":\"" + "y".repeat(255) + "\",\"price\":10}\n";
+
+        BulkImportResult result = productImportService.importProducts(stream(body));
+
+        assertEquals(3, result.getReceived());
+        assertEquals(2, result.getImported());
+        assertEquals(1, result.getErrors().size());
+        assertEquals(1, result.getErrors().get(0).getRow());
+        assertEquals(2, productRepository.count());
+    }
+
+    @Test
+    void acceptsJsonArray() throws IOException {
+        BulkImportResult result = productImportService.importProducts(
+                stream("[{\"name\":\"a\",\"price\":1},{\"name\":\"b\",\"price\":2}]"));
+
+        assertEquals(2, result.getImported());
+        assertTrue(result.getErrors().isEmpty());
+    }
+
+    // calea veche (cate un save per produs) ar face cel putin un INSERT per rand; importul trimite
+    // insert-urile in batch-uri JDBC de 50 (hibernate.jdbc.batch_size), cu o singura cautare de categorii per chunk.
+    // Comparatia de viteza intre cele doua e in ProductImportBenchmark (src/jmh).
+    @Test
+    void importsInJdbcBatches() throws IOException {
+        int categoryId = categoryRepository.save(category("Bulk")).getId();
+        int rows = 3000;
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        BulkImportResult result = productImportService.importProducts(stream(ndjson(rows, categoryId)));
+
+        assertEquals(rows, result.getImported());
+        assertTrue(result.getErrors().isEmpty());
+        assertEquals(rows, statistics.getEntityStatistics(Product.class.getName()).getInsertCount());
+        // ~60 batch-uri de INSERT + cautarea categoriilor si intrarea in change log, per chunk
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements < rows / 25, "expected batched inserts, got " + statements + " statements for " + rows + " rows");
+    }
+
+    private static String ndjson(int rows, int categoryId) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < rows; i++) {
+            sb.append("{\"name\":\"bulk-").append(i).append("\",\"price\":").append(10 + i)
+                    .append(",\"category\":{\"id\":").append(categoryId).append("}}\n");
+        }
+        return sb.toString();
+    }
+
+    private static Category category(String name) {
+        Category category = new Category();
+        category.setName(name);
+        return category;
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
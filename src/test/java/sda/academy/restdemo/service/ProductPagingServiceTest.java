@@ -0,0 +1,141 @@
+package sda.academy.restdemo.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+import sda.academy.restdemo.dto.ProductPage;
+import sda.academy.restdemo.model.Product;
+import sda.academy.restdemo.repository.CategoryRepository;
+import sda.academy.restdemo.repository.ProductRepository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.function.IntToDoubleFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// keyset pagination: fiecare produs apare exact o data, in ordinea sortarii, chiar cu preturi / nume egale
+@SpringBootTest
+@ActiveProfiles("test")
+class ProductPagingServiceTest {
+
+    @Autowired
+    ProductService productService;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @AfterEach
+    void cleanUp() {
+        productRepository.deleteAllInBatch();
+        categoryRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void pagesByPriceBreakTiesOnId() {
+        // 3 preturi pentru 23 de produse: multe pagini incep si se termina in mijlocul unui pret
+        List<Product> products = save(23, i -> "product-" + i, i -> 10 + i % 3);
+
+        List<Product> expected = products.stream()
+                .sorted(Comparator.comparingDouble(Product::getPrice).thenComparingInt(Product::getId))
+                .toList();
+        assertEquals(ids(expected), walk("price", 4));
+    }
+
+    @Test
+    void pagesByNameBreakTiesOnIdAndKeepColonsInCursor() {
+        // numele contin ':' (separatorul din cursor) si se repeta
+        List<Product> products = save(17, i -> "cable: type " + (char) ('a' + i % 4), i -> 5);
+
+        List<Product> expected = products.stream()
+                .sorted(Comparator.comparing(Product::getName).thenComparingInt(Product::getId))
+                .toList();
+        assertEquals(ids(expected), walk("name", 3));
+    }
+
+    @Test
+    void pagesById() {
+        List<Product> products = save(11, i -> "p" + i, i -> 1 + i);
+
+        assertEquals(ids(products), walk("id", 5));
+    }
+
+    @Test
+    void lastPageHasNoCursorEvenWhenItIsFull() {
+        save(8, i -> "p" + i, i -> 1 + i);
+
+        ProductPage first = productService.getProductsPage(null, 4, "id");
+        assertEquals(4, first.getItems().size());
+        assertNotNull(first.getNextCursor());
+
+        ProductPage last = productService.getProductsPage(first.getNextCursor(), 4, "id");
+        assertEquals(4, last.getItems().size());
+        assertNull(last.getNextCursor());
+    }
+
+    @Test
+    void emptyCatalogIsOneEmptyPage() {
+        ProductPage page = productService.getProductsPage(null, 4, "price");
+
+        assertEquals(List.of(), page.getItems());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void rejectsBadCursorLimitAndSort() {
+        save(3, i -> "p" + i, i -> 1 + i);
+        String priceCursor = productService.getProductsPage(null, 1, "price").getNextCursor();
+
+        assertBadRequest(() -> productService.getProductsPage("not-a-cursor", 10, "id"));
+        assertBadRequest(() -> productService.getProductsPage("UFJJQ0U6MTpub3QtYS1udW1iZXI", 10, "price")); // PRICE:1:not-a-number
+        assertBadRequest(() -> productService.getProductsPage(priceCursor, 10, "name")); // cursor dat pentru alta sortare
+        assertBadRequest(() -> productService.getProductsPage(null, 0, "id"));
+        assertBadRequest(() -> productService.getProductsPage(null, ProductService.MAX_PAGE_SIZE + 1, "id"));
+        assertBadRequest(() -> productService.getProductsPage(null, 10, "rating"));
+    }
+
+    // parcurge toate paginile si intoarce id-urile in ordinea primita
+    private List<Integer> walk(String sort, int limit) {
+        List<Integer> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            ProductPage page = productService.getProductsPage(cursor, limit, sort);
+            page.getItems().forEach(product -> ids.add(product.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+
+    private List<Product> save(int count, IntFunction<String> name, IntToDoubleFunction price) {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Product product = new Product();
+            product.setName(name.apply(i));
+            product.setPrice(price.applyAsDouble(i));
+            products.add(product);
+        }
+        return productRepository.saveAll(products).stream().sorted(Comparator.comparingInt(Product::getId)).toList();
+    }
+
+    private static List<Integer> ids(List<Product> products) {
+        return products.stream().map(Product::getId).toList();
+    }
+
+    private static void assertBadRequest(Executable call) {
+        ResponseStatusException e = assertThrows(ResponseStatusException.class, call);
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+    }
+}
@@ -0,0 +1,81 @@
+package sda.academy.restdemo.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// indexul fara context Spring: in afara unei tranzactii modificarile se aplica imediat
+class ProductSearchIndexTest {
+
+    ProductSearchIndex index = new ProductSearchIndex();
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void tokenizesOnNonAlphanumericCharactersCaseInsensitive() {
+        assertEquals(List.of("iphone", "15", "pro", "max"), ProductSearchIndex.tokenize("iPhone 15 Pro-Max"));
+        assertEquals(List.of("cafea", "cafè"), ProductSearchIndex.tokenize("Cafea, CAFEA / cafè!"));
+        assertEquals(List.of(), ProductSearchIndex.tokenize("  --  "));
+        assertEquals(List.of(), ProductSearchIndex.tokenize(null));
+    }
+
+    @Test
+    void everyTermMustPrefixSomeToken() {
+        index.index(3, "iPhone 15 Pro");
+        index.index(1, "iPhone 14");
+        index.index(2, "Pixel 15");
+
+        assertEquals(List.of(1, 3), index.search("ipho", 10));
+        assertEquals(List.of(3), index.search("ipho 15", 10));
+        assertEquals(List.of(2, 3), index.search("15", 10));
+        assertEquals(List.of(), index.search("ipho 16", 10));
+        assertEquals(List.of(), index.search("   ", 10));
+        assertEquals(List.of(1), index.search("i", 1));
+    }
+
+    @Test
+    void renameReplacesOldTokensAndRemoveDropsProduct() {
+        index.index(1, "Galaxy S24");
+        index.index(1, "Galaxy Tab");
+
+        assertEquals(List.of(), index.search("s24", 10));
+        assertEquals(List.of(1), index.search("tab", 10));
+
+        index.index(2, "Galaxy Watch");
+        index.removeAll(List.of(1));
+        assertEquals(List.of(2), index.search("galaxy", 10));
+        index.remove(2);
+        assertEquals(List.of(), index.search("galaxy", 10));
+    }
+
+    @Test
+    void changesInsideATransactionApplyOnlyAfterCommit() {
+        index.index(1, "old name");
+
+        TransactionSynchronizationManager.initSynchronization();
+        index.index(1, "new name");
+        assertEquals(List.of(1), index.search("old", 10));
+        assertEquals(List.of(), index.search("new", 10));
+        TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        TransactionSynchronizationManager.clearSynchronization();
+        assertEquals(List.of(1), index.search("new", 10));
+
+        // rollback: sincronizarile sunt aruncate fara afterCommit
+        TransactionSynchronizationManager.initSynchronization();
+        index.index(1, "rolled back");
+        index.remove(1);
+        TransactionSynchronizationManager.clearSynchronization();
+        assertEquals(List.of(1), index.search("new", 10));
+        assertEquals(List.of(), index.search("rolled", 10));
+    }
+}
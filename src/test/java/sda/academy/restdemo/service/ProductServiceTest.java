@@ -0,0 +1,96 @@
+package sda.academy.restdemo.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sda.academy.restdemo.dto.ProductPatch;
+import sda.academy.restdemo.exception.CategoryNotFoundException;
+import sda.academy.restdemo.model.Product;
+import sda.academy.restdemo.repository.CategoryRepository;
+import sda.academy.restdemo.repository.ProductRepository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ProductServiceTest {
+
+    @Autowired
+    ProductService productService;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void cleanUp() {
+        productRepository.deleteAllInBatch();
+        categoryRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void patchWithUnknownCategoryIsCategoryNotFound() {
+        Product product = productService.createProduct(product("phone", 10));
+        ProductPatch patch = new ProductPatch();
+        patch.setCategoryId(999_999);
+
+        CategoryNotFoundException e = assertThrows(CategoryNotFoundException.class,
+                () -> productService.patchProduct(product.getId(), patch, null));
+        assertEquals("Category with id 999999 not found", e.getMessage());
+    }
+
+    // doar FK-ul pe categorie devine 404; restul incalcarilor raman erori de integritate
+    @Test
+    void patchWithTooLongNameIsNotReportedAsMissingCategory() {
+        Product product = productService.createProduct(product("phone", 10));
+        ProductPatch patch = new ProductPatch();
+        patch.setName("x".repeat(300));
+
+        assertThrows(DataIntegrityViolationException.class, () -> productService.patchProduct(product.getId(), patch, null));
+        assertEquals("phone", productRepository.findById(product.getId()).orElseThrow().getName());
+    }
+
+    // un cititor concurent care pune in cache randul dinaintea commit-ului nu trebuie sa-l lase acolo
+    @Test
+    void productIsEvictedAfterCommit() {
+        Product product = productService.createProduct(product("phone", 10));
+        Cache cache = cacheManager.getCache(CatalogCache.PRODUCTS);
+        productService.getProductById(product.getId());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Product changed = product("phone v2", 12);
+            productService.updateProduct(product.getId(), changed);
+            cache.evict(product.getId());
+            cache.put(product.getId(), productRepository.findById(product.getId()).orElseThrow());
+            assertNotNull(cache.get(product.getId()), "eviction must wait for the commit");
+        });
+
+        assertNull(cache.get(product.getId()));
+        assertEquals("phone v2", productService.getProductById(product.getId()).getName());
+    }
+
+    private static Product product(String name, double price) {
+        Product product = new Product();
+        product.setName(name);
+        product.setPrice(price);
+        return product;
+    }
+}